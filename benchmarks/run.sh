@@ -0,0 +1,8 @@
+#!/bin/sh
+set -e
+cd "$(dirname "$0")"
+mvn -B -q package
+commit=$(git rev-parse --short HEAD)
+mkdir -p results
+java -jar target/benchmarks.jar -rf json -rff "results/$commit.json" "$@"
+echo "Results written to benchmarks/results/$commit.json"
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import interfaces.IFileHandler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import services.AccountCSVHandler;
+import services.CustomerCSVHandler;
+import services.TransactionCSVHandler;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class CsvStorageBenchmark {
+    private static final long SEED = 7;
+    private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+    @Param({"customers", "accounts", "transactions"})
+    public String backend;
+
+    @Param({"1000000", "5000000"})
+    public int rows;
+
+    private Path dataDirectory;
+    private Path fixtureFile;
+    private Path outputFile;
+    private long fixtureBytes;
+    private List<?> loadedRows;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Throughput {
+        public long rows;
+        public double megabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            rows = 0;
+            megabytes = 0;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(CsvStorageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataDirectory = switch (backend) {
+            case "customers" -> LedgerFixture.create(rows, rows, 0, SEED);
+            case "accounts" -> LedgerFixture.create(rows, 0, SEED);
+            case "transactions" -> LedgerFixture.create(Math.max(1, rows / 10), rows, SEED);
+            default -> throw new IllegalArgumentException("Unknown backend " + backend);
+        };
+        fixtureFile = dataDirectory.resolve(backend + ".csv");
+        outputFile = dataDirectory.resolve(backend + "-out.csv");
+        fixtureBytes = Files.size(fixtureFile);
+        loadedRows = handler(fixtureFile).loadData();
+        if (loadedRows.size() != rows) {
+            throw new IllegalStateException("Fixture " + fixtureFile + " has " + loadedRows.size() + " rows, expected " + rows);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        LedgerFixture.delete(dataDirectory);
+    }
+
+    @Benchmark
+    public List<?> loadData(Throughput throughput) throws Exception {
+        List<?> data = handler(fixtureFile).loadData();
+        throughput.rows += data.size();
+        throughput.megabytes += fixtureBytes / BYTES_PER_MEGABYTE;
+        return data;
+    }
+
+    @Benchmark
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void saveData(Throughput throughput) throws Exception {
+        IFileHandler handler = handler(outputFile);
+        handler.saveData(loadedRows);
+        throughput.rows += loadedRows.size();
+        throughput.megabytes += fixtureBytes / BYTES_PER_MEGABYTE;
+    }
+
+    private IFileHandler<?> handler(Path file) {
+        return switch (backend) {
+            case "customers" -> new CustomerCSVHandler(file.toString());
+            case "accounts" -> new AccountCSVHandler(file.toString());
+            default -> new TransactionCSVHandler(file.toString());
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package benchmarks;
+
+import exceptions.FileReadException;
+import model.Account;
+import model.AccountHandles;
+import model.Customer;
+import model.Transaction;
+import services.AccountCSVHandler;
+import services.CustomerCSVHandler;
+import services.TransactionCSVHandler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+public final class LedgerFixture {
+    public static final int ACCOUNTS_PER_CUSTOMER = 4;
+    public static final double OPENING_BALANCE = 1_000_000.0;
+    private static final long HISTORY_MILLIS = 365L * 24 * 60 * 60 * 1000;
+    private static final String[] ACCOUNT_TYPES = {"Savings", "Checking", "Money Market", "Fixed Deposit"};
+
+    private LedgerFixture() {
+    }
+
+    public static Path create(int accountCount, int transactionCount, long seed) throws IOException, FileReadException {
+        int customerCount = (accountCount + ACCOUNTS_PER_CUSTOMER - 1) / ACCOUNTS_PER_CUSTOMER;
+        return create(customerCount, accountCount, transactionCount, seed);
+    }
+
+    public static Path create(int customerCount, int accountCount, int transactionCount, long seed)
+            throws IOException, FileReadException {
+        Path directory = Files.createTempDirectory("ledger-fixture-");
+        Random random = new Random(seed);
+
+        List<Customer> customers = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            customers.add(new Customer("Customer " + i, "customer" + i + "@example.com",
+                    String.format("%010d", 5_550_000_000L + i)));
+        }
+        List<Account> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            Customer customer = customers.get((int) ((long) i * customerCount / accountCount));
+            Account account = new Account(ACCOUNT_TYPES[i % ACCOUNT_TYPES.length], String.format("%08d", i),
+                    customer.getId());
+            account.setBalance(OPENING_BALANCE);
+            accounts.add(account);
+        }
+
+        AccountHandles accountHandles = new AccountHandles();
+        List<Transaction> transactions = new ArrayList<>(transactionCount);
+        long start = System.currentTimeMillis() - HISTORY_MILLIS;
+        for (int i = 0; i < transactionCount; i++) {
+            Date timeStamp = new Date(start + HISTORY_MILLIS * i / Math.max(1, transactionCount));
+            double amount = 1 + random.nextInt(50_000) / 100.0;
+            Account first = accounts.get(random.nextInt(accountCount));
+            Account second = accounts.get(random.nextInt(accountCount));
+            Transaction transaction = switch (random.nextInt(3)) {
+                case 0 -> new Transaction(accountHandles, "Deposit", amount, first.getId(), null, timeStamp);
+                case 1 -> new Transaction(accountHandles, "Withdrawal", amount, null, first.getId(), timeStamp);
+                default -> new Transaction(accountHandles, "Transfer", amount, first.getId(), second.getId(), timeStamp);
+            };
+            transactions.add(transaction);
+            applyEffect(transaction, first);
+            if (transaction.getType().equals("Transfer") && second != first) {
+                applyEffect(transaction, second);
+            }
+        }
+
+        new CustomerCSVHandler(directory.resolve("customers.csv").toString()).saveData(customers);
+        new AccountCSVHandler(directory.resolve("accounts.csv").toString()).saveData(accounts);
+        new TransactionCSVHandler(directory.resolve("transactions.csv").toString()).saveData(transactions);
+        return directory;
+    }
+
+    public static Path copy(Path source) throws IOException {
+        Path directory = Files.createTempDirectory("ledger-fixture-");
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Files.copy(file, directory.resolve(file.getFileName()));
+            }
+        }
+        return directory;
+    }
+
+    public static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) return;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void applyEffect(Transaction transaction, Account account) {
+        account.setBalance(account.getBalance() + transaction.getBalanceEffect(account.getId()));
+    }
+}
@@ -0,0 +1,134 @@
+package benchmarks;
+
+import model.Account;
+import model.AccountView;
+import model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import services.TransactionService;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TransactionServiceBenchmark {
+    private static final int SAMPLES = 1024;
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean persistent;
+
+    private Path dataDirectory;
+    private TransactionService transactionService;
+    private final String[] accountIds = new String[SAMPLES];
+    private final String[] accountNumbers = new String[SAMPLES];
+    private final Date[] rangeStarts = new Date[SAMPLES];
+    private final Date[] rangeEnds = new Date[SAMPLES];
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dataDirectory = LedgerFixture.create(size, size, SEED);
+        transactionService = new TransactionService(dataDirectory.toString(), persistent);
+
+        Random random = new Random(SEED);
+        List<AccountView> accounts = transactionService.snapshot().getAccounts();
+        Transaction[] transactions = transactionService.copyTransactions();
+        int rangeLength = Math.max(1, transactions.length / 100);
+        for (int i = 0; i < SAMPLES; i++) {
+            AccountView account = accounts.get(random.nextInt(accounts.size()));
+            accountIds[i] = account.getId();
+            accountNumbers[i] = account.getAccountNum();
+            int first = random.nextInt(Math.max(1, transactions.length - rangeLength));
+            rangeStarts[i] = transactions[first].getTimeStamp();
+            rangeEnds[i] = transactions[Math.min(transactions.length - 1, first + rangeLength)].getTimeStamp();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        LedgerFixture.delete(dataDirectory);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLES - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public Account findAccountById() {
+        return transactionService.findAccountById(accountIds[next()]);
+    }
+
+    @Benchmark
+    public Account findAccountByNumber() {
+        return transactionService.FindAccountByNumber(accountNumbers[next()]);
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionsByAccount() {
+        return transactionService.getTransactionsByAccount(accountIds[next()]);
+    }
+
+    @Benchmark
+    public List<Transaction> getTransactionByDateRange() {
+        int sample = next();
+        return transactionService.getTransactionByDateRange(rangeStarts[sample], rangeEnds[sample]);
+    }
+
+    @Benchmark
+    public boolean deposit(Ledger ledger) {
+        return ledger.transactionService.deposit(accountIds[next()], 10.0);
+    }
+
+    @Benchmark
+    public boolean withdraw(Ledger ledger) {
+        return ledger.transactionService.withdraw(accountIds[next()], 10.0);
+    }
+
+    @Benchmark
+    public boolean transfer(Ledger ledger) {
+        int sample = next();
+        return ledger.transactionService.transfer(accountIds[sample], accountIds[(sample + 1) & (SAMPLES - 1)], 10.0);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Ledger {
+        private Path dataDirectory;
+        private TransactionService transactionService;
+
+        @Setup(Level.Iteration)
+        public void setUp(TransactionServiceBenchmark benchmark) throws Exception {
+            dataDirectory = LedgerFixture.copy(benchmark.dataDirectory);
+            transactionService = new TransactionService(dataDirectory.toString(), benchmark.persistent);
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws Exception {
+            transactionService = null;
+            LedgerFixture.delete(dataDirectory);
+        }
+    }
+}
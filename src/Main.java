@@ -1,16 +1,107 @@
+import cli.AccrualCommand;
+import cli.BatchRunner;
+import cli.DatasetGenerator;
+import cli.EndOfDayCommand;
+import cli.LoadDriver;
+import cli.ReconcileCommand;
+import cli.StatementCommand;
+import services.MetricsRegistry;
+import services.ReplicaService;
+import services.TransactionService;
 import ui.DashboardUI;
 import ui.LoginUI;
 
 import javax.swing.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
 
 public class Main {
     public static void main(String[] args) {
+        if (System.getProperty("metrics.file") != null) {
+            startMetricsDump();
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(BatchRunner.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--statements")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(StatementCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--eod")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(EndOfDayCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--accrue")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(AccrualCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--reconcile")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(ReconcileCommand.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--generate")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(DatasetGenerator.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        if (args.length > 0 && args[0].equals("--load-test")) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(LoadDriver.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+        startMetricsDump();
+        if (args.length > 0 && args[0].equals("--standby")) {
+            runStandby(args.length > 1 ? args[1] : "mutations.log");
+            return;
+        }
+
+        launchDashboard(null);
+    }
+
+    private static void startMetricsDump() {
+        MetricsRegistry.global().startDumping(System.getProperty("metrics.file", "metrics.log"),
+                Long.getLong("metrics.interval", 60));
+    }
+
+    private static void launchDashboard(TransactionService transactionService) {
         try {
             UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
         } catch (Exception e) {
             System.err.println("Failed to set system look and feel: " + e.getMessage());
         }
 
-        SwingUtilities.invokeLater(() -> new DashboardUI());
+        SwingUtilities.invokeLater(() -> new DashboardUI(transactionService));
+    }
+
+    private static void runStandby(String logFileName) {
+        ReplicaService replica = new ReplicaService(logFileName, 200);
+        replica.start();
+        System.out.println("Standby replica tailing " + logFileName + " (commands: status, promote, quit)");
+
+        try (BufferedReader console = new BufferedReader(new InputStreamReader(System.in))) {
+            String command;
+            while ((command = console.readLine()) != null) {
+                switch (command.trim()) {
+                    case "status" -> System.out.println(replica.describeLag() +
+                            ", customers " + replica.getStandbyService().getAllCustomers().size() +
+                            ", accounts " + replica.getStandbyService().getAllAccounts().size());
+                    case "promote" -> {
+                        TransactionService primary = replica.promote();
+                        System.out.println("Promoted to primary at sequence " + replica.getAppliedSequence());
+                        launchDashboard(primary);
+                        return;
+                    }
+                    case "quit" -> {
+                        replica.stop();
+                        return;
+                    }
+                    default -> System.out.println("Unknown command: " + command);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading standby console: " + e.getMessage());
+        }
+        replica.stop();
     }
-}
\ No newline at end of file
+}
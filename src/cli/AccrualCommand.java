@@ -0,0 +1,33 @@
+package cli;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+import services.AccrualEngine;
+import services.AccrualRun;
+import services.ProductCatalog;
+import services.TransactionService;
+
+public class AccrualCommand {
+    public static int run(String[] args) {
+        if (args.length > 1) {
+            System.err.println("Usage: Main --accrue [product terms file]");
+            return 2;
+        }
+
+        ProductCatalog catalog;
+        try {
+            catalog = ProductCatalog.load(args.length == 1 ? args[0] : "products.csv");
+        } catch (FileReadException | InvalidDataException e) {
+            System.err.println("Error loading product terms: " + e.getMessage());
+            return 1;
+        }
+
+        TransactionService transactionService = new TransactionService();
+        AccrualRun run = new AccrualEngine(transactionService, catalog).runMonthly();
+        System.out.printf("Scanned %d accounts: %d interest postings ($%.2f), %d fee postings ($%.2f), %d skipped, %d already accrued this month%n",
+                run.getAccountsScanned(), run.getInterestPostings(), run.getTotalInterest(),
+                run.getFeePostings(), run.getTotalFees(), run.getSkipped(), run.getAlreadyAccrued());
+        System.out.println("Computed in " + run.getComputeMillis() + " ms, posted and saved in " + run.getPostMillis() + " ms");
+        return run.getSkipped() == 0 ? 0 : 1;
+    }
+}
@@ -0,0 +1,201 @@
+package cli;
+
+import controllers.DashboardController;
+import exceptions.InvalidDataException;
+import model.AccountView;
+import services.LedgerSnapshot;
+import services.TransactionService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BatchRunner {
+    private final TransactionService transactionService;
+    private final DashboardController dashboardController;
+    private final Map<String, String> accountIds = new HashMap<>();
+    private int succeeded;
+    private int failed;
+
+    public BatchRunner(TransactionService transactionService) {
+        this.transactionService = transactionService;
+        this.dashboardController = new DashboardController(transactionService);
+        indexAccounts();
+    }
+
+    public static int run(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: Main --batch <script file | ->");
+            return 2;
+        }
+
+        long loadStart = System.nanoTime();
+        TransactionService transactionService = new TransactionService();
+        LedgerSnapshot snapshot = transactionService.snapshot();
+        System.out.println("Loaded " + snapshot.getCustomerCount() + " customers and " + snapshot.getAccountCount() +
+                " accounts in " + millisSince(loadStart) + " ms");
+
+        BatchRunner runner = new BatchRunner(transactionService);
+        try (BufferedReader reader = openScript(args[0])) {
+            runner.execute(reader);
+        } catch (IOException e) {
+            System.err.println("Error reading batch script: " + e.getMessage());
+            return 1;
+        }
+        return runner.getFailed() == 0 ? 0 : 1;
+    }
+
+    private static BufferedReader openScript(String fileName) throws IOException {
+        if (fileName.equals("-")) {
+            return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8);
+    }
+
+    public void execute(BufferedReader reader) throws IOException {
+        long start = System.nanoTime();
+        long processedAt = start;
+        transactionService.beginBatch();
+        try {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String command = line.trim();
+                if (command.isEmpty() || command.startsWith("#")) continue;
+                try {
+                    if (executeCommand(command)) {
+                        succeeded++;
+                    } else {
+                        failed++;
+                        System.err.println("Line " + lineNumber + ": operation rejected: " + command);
+                    }
+                } catch (InvalidDataException e) {
+                    failed++;
+                    System.err.println("Line " + lineNumber + ": " + e.getMessage());
+                }
+            }
+            processedAt = System.nanoTime();
+        } finally {
+            transactionService.commitBatch();
+        }
+
+        int operations = succeeded + failed;
+        long processingNanos = Math.max(1, processedAt - start);
+        System.out.printf("Processed %d operations (%d ok, %d failed) in %d ms, %.0f ops/s%n",
+                operations, succeeded, failed, processingNanos / 1_000_000,
+                operations * 1_000_000_000.0 / processingNanos);
+        System.out.println("Saved ledger in " + millisSince(processedAt) + " ms");
+    }
+
+    private boolean executeCommand(String command) throws InvalidDataException {
+        String[] fields = command.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = fields[i].trim();
+        }
+
+        return switch (fields[0].toLowerCase()) {
+            case "deposit" -> {
+                requireFields(fields, 3);
+                yield transactionService.deposit(resolveAccount(fields[1]), parseAmount(fields[2]));
+            }
+            case "withdraw" -> {
+                requireFields(fields, 3);
+                yield transactionService.withdraw(resolveAccount(fields[1]), parseAmount(fields[2]));
+            }
+            case "transfer" -> {
+                requireFields(fields, 4);
+                String sendingAccountId = resolveAccount(fields[1]);
+                String receivingAccountId = resolveAccount(fields[2]);
+                if (sendingAccountId.equals(receivingAccountId)) {
+                    throw new InvalidDataException("Cannot transfer to the same account: " + fields[1]);
+                }
+                yield transactionService.transfer(sendingAccountId, receivingAccountId, parseAmount(fields[3]));
+            }
+            case "add-customer" -> {
+                requireFields(fields, 4);
+                yield dashboardController.addCustomer(fields[1], fields[2], fields[3]);
+            }
+            case "add-account" -> {
+                requireFields(fields, 3);
+                double initialDeposit = fields.length > 3 && !fields[3].isEmpty() ? parseAmount(fields[3]) : 0.0;
+                yield dashboardController.addAccount(fields[1], fields[2], initialDeposit);
+            }
+            case "balance" -> {
+                requireFields(fields, 2);
+                String accountId = resolveAccount(fields[1]);
+                System.out.println(fields[1] + " balance: " + transactionService.findAccountById(accountId).getBalance());
+                yield true;
+            }
+            case "balance-as-of" -> {
+                requireFields(fields, 3);
+                LocalDate date = parseDate(fields[2]);
+                System.out.println(fields[1] + " balance on " + date + ": " +
+                        transactionService.balanceAsOf(resolveAccount(fields[1]), date));
+                yield true;
+            }
+            default -> throw new InvalidDataException("Unknown command: " + fields[0]);
+        };
+    }
+
+    private void requireFields(String[] fields, int count) throws InvalidDataException {
+        if (fields.length < count) {
+            throw new InvalidDataException(fields[0] + " expects " + (count - 1) + " arguments");
+        }
+    }
+
+    private double parseAmount(String amount) throws InvalidDataException {
+        try {
+            return Double.parseDouble(amount);
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException("Invalid amount: " + amount);
+        }
+    }
+
+    private LocalDate parseDate(String date) throws InvalidDataException {
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            throw new InvalidDataException("Invalid date: " + date);
+        }
+    }
+
+    private String resolveAccount(String reference) throws InvalidDataException {
+        String accountId = accountIds.get(reference);
+        if (accountId == null) {
+            indexAccounts();
+            accountId = accountIds.get(reference);
+        }
+        if (accountId == null) {
+            throw new InvalidDataException("Account not found: " + reference);
+        }
+        return accountId;
+    }
+
+    private void indexAccounts() {
+        accountIds.clear();
+        for (AccountView account : transactionService.snapshot().getAccounts()) {
+            accountIds.put(account.getId(), account.getId());
+            accountIds.put(account.getAccountNum(), account.getId());
+        }
+    }
+
+    private static long millisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,272 @@
+package cli;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+import model.Account;
+import model.AccountHandles;
+import model.Customer;
+import model.Transaction;
+import services.AccountCSVHandler;
+import services.CustomerCSVHandler;
+import services.TransactionCSVHandler;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+public class DatasetGenerator {
+    private static final String[] ACCOUNT_TYPES = {"Savings", "Checking", "Money Market", "Fixed Deposit"};
+    private static final String[] FIRST_NAMES = {"Aarav", "Maya", "Liam", "Sofia", "Noah", "Priya", "Ethan", "Anika",
+            "Lucas", "Zara", "Omar", "Emma", "Ravi", "Chloe", "Mateo", "Sara"};
+    private static final String[] LAST_NAMES = {"Sharma", "Smith", "Garcia", "Khan", "Nguyen", "Brown", "Thapa",
+            "Miller", "Silva", "Kim", "Patel", "Jones", "Rossi", "Adhikari", "Lee", "Cohen"};
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int OPENING_DAYS = 30;
+
+    private int customers = 10_000;
+    private int maxAccountsPerCustomer = 12;
+    private double accountSkew = 1.5;
+    private int transactions = 1_000_000;
+    private double activitySkew = 1.0;
+    private double depositShare = 0.4;
+    private double withdrawalShare = 0.3;
+    private double medianAmount = 100.0;
+    private double amountSpread = 1.2;
+    private double burstRate = 0.01;
+    private int burstSize = 20;
+    private int days = 365;
+    private int workload = 100_000;
+    private long seed = 42;
+    private LocalDate endDate = LocalDate.now();
+
+    private final AccountHandles accountHandles = new AccountHandles();
+    private Random random;
+    private double[] activityCdf;
+
+    public static int run(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Main --generate <output directory> [customers=N] [max-accounts=N] " +
+                    "[account-skew=X] [transactions=N] [activity-skew=X] [deposit-share=X] [withdrawal-share=X] " +
+                    "[median-amount=X] [amount-spread=X] [burst-rate=X] [burst-size=N] [days=N] [workload=N] [seed=N] [end-date=yyyy-MM-dd]");
+            return 2;
+        }
+        DatasetGenerator generator = new DatasetGenerator();
+        try {
+            for (int i = 1; i < args.length; i++) {
+                generator.configure(args[i]);
+            }
+            long start = System.nanoTime();
+            String summary = generator.generate(Paths.get(args[0]));
+            System.out.println(summary + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+            return 0;
+        } catch (InvalidDataException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        } catch (FileReadException | IOException e) {
+            System.err.println("Error generating dataset: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    public void configure(String option) throws InvalidDataException {
+        int separator = option.indexOf('=');
+        if (separator < 0) {
+            throw new InvalidDataException("Expected name=value: " + option);
+        }
+        String name = option.substring(0, separator).trim();
+        String value = option.substring(separator + 1).trim();
+        try {
+            switch (name) {
+                case "customers" -> customers = Integer.parseInt(value);
+                case "max-accounts" -> maxAccountsPerCustomer = Integer.parseInt(value);
+                case "account-skew" -> accountSkew = Double.parseDouble(value);
+                case "transactions" -> transactions = Integer.parseInt(value);
+                case "activity-skew" -> activitySkew = Double.parseDouble(value);
+                case "deposit-share" -> depositShare = Double.parseDouble(value);
+                case "withdrawal-share" -> withdrawalShare = Double.parseDouble(value);
+                case "median-amount" -> medianAmount = Double.parseDouble(value);
+                case "amount-spread" -> amountSpread = Double.parseDouble(value);
+                case "burst-rate" -> burstRate = Double.parseDouble(value);
+                case "burst-size" -> burstSize = Integer.parseInt(value);
+                case "days" -> days = Integer.parseInt(value);
+                case "workload" -> workload = Integer.parseInt(value);
+                case "seed" -> seed = Long.parseLong(value);
+                case "end-date" -> endDate = LocalDate.parse(value);
+                default -> throw new InvalidDataException("Unknown option: " + name);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidDataException("Invalid value for " + name + ": " + value);
+        }
+        if (customers < 1 || maxAccountsPerCustomer < 1 || accountSkew <= 0 || transactions < 0 || workload < 0
+                || days <= OPENING_DAYS || burstSize < 1 || depositShare < 0 || withdrawalShare < 0
+                || depositShare + withdrawalShare > 1) {
+            throw new InvalidDataException("Option out of range: " + option);
+        }
+    }
+
+    public String generate(Path outputDirectory) throws IOException, FileReadException {
+        Files.createDirectories(outputDirectory);
+        random = new Random(seed);
+
+        List<Customer> customerList = new ArrayList<>(customers);
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < customers; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            Customer customer = new Customer(name, "customer" + i + "@example.com",
+                    String.format("%010d", 9_800_000_000L + i));
+            customer.setId(nextId());
+            customerList.add(customer);
+            int accountCount = Math.min(maxAccountsPerCustomer, (int) Math.floor(1 / Math.pow(1 - random.nextDouble(), 1 / accountSkew)));
+            for (int j = 0; j < accountCount; j++) {
+                Account account = new Account(ACCOUNT_TYPES[random.nextInt(ACCOUNT_TYPES.length)],
+                        String.format("%08d", accounts.size() + 1), customer.getId());
+                account.setId(nextId());
+                accounts.add(account);
+            }
+        }
+        buildActivityDistribution(accounts.size());
+
+        long end = endDate.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long start = end - days * DAY_MILLIS;
+        double[] balances = new double[accounts.size()];
+        List<Transaction> history = new ArrayList<>(transactions + accounts.size());
+        long activityStart = start + DAY_MILLIS * OPENING_DAYS;
+        long openingSpacing = Math.max(1, DAY_MILLIS * OPENING_DAYS / Math.max(1, accounts.size()));
+        for (int i = 0; i < accounts.size(); i++) {
+            double opening = amount() * 10;
+            balances[i] = opening;
+            history.add(transaction("Deposit", opening, accounts.get(i).getId(), null, start + i * openingSpacing));
+        }
+
+        long averageGap = Math.max(1, (end - activityStart) / Math.max(1, transactions));
+        long time = activityStart;
+        int bursts = 0;
+        while (history.size() < transactions + accounts.size()) {
+            time = Math.min(end, time + (long) (-Math.log(1 - random.nextDouble()) * averageGap));
+            if (random.nextDouble() < burstRate) {
+                bursts++;
+                int from = activeAccount();
+                for (int i = 0; i < burstSize && history.size() < transactions + accounts.size(); i++) {
+                    time = Math.min(end, time + 1 + random.nextInt(2_000));
+                    int to = activeAccount();
+                    double amount = amount();
+                    if (to == from || balances[from] < amount) break;
+                    balances[from] -= amount;
+                    balances[to] += amount;
+                    history.add(transaction("Transfer", amount, accounts.get(from).getId(), accounts.get(to).getId(), time));
+                }
+                continue;
+            }
+            history.add(posting(accounts, balances, time));
+        }
+        for (int i = 0; i < accounts.size(); i++) {
+            accounts.get(i).setBalance(Math.round(balances[i] * 100.0) / 100.0);
+        }
+
+        new CustomerCSVHandler(outputDirectory.resolve("customers.csv").toString()).saveData(customerList);
+        new AccountCSVHandler(outputDirectory.resolve("accounts.csv").toString()).saveData(accounts);
+        new TransactionCSVHandler(outputDirectory.resolve("transactions.csv").toString()).saveData(history);
+        writeWorkload(outputDirectory.resolve("workload.txt"), accounts);
+
+        return String.format("Generated %d customers, %d accounts, %d transactions (%d transfer bursts) and a %d operation workload in %s",
+                customerList.size(), accounts.size(), history.size(), bursts, workload, outputDirectory);
+    }
+
+    private Transaction posting(List<Account> accounts, double[] balances, long time) {
+        int account = activeAccount();
+        double amount = amount();
+        double choice = random.nextDouble();
+        if (choice >= depositShare && balances[account] >= amount) {
+            if (choice < depositShare + withdrawalShare) {
+                balances[account] -= amount;
+                return transaction("Withdrawal", amount, null, accounts.get(account).getId(), time);
+            }
+            int to = activeAccount();
+            if (to != account) {
+                balances[account] -= amount;
+                balances[to] += amount;
+                return transaction("Transfer", amount, accounts.get(account).getId(), accounts.get(to).getId(), time);
+            }
+        }
+        balances[account] += amount;
+        return transaction("Deposit", amount, accounts.get(account).getId(), null, time);
+    }
+
+    private void writeWorkload(Path file, List<Account> accounts) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < workload; i++) {
+                String accountNumber = accounts.get(activeAccount()).getAccountNum();
+                String amount = String.format("%.2f", amount());
+                double choice = random.nextDouble();
+                if (choice < depositShare) {
+                    writer.write("deposit," + accountNumber + "," + amount);
+                } else if (choice < depositShare + withdrawalShare) {
+                    writer.write("withdraw," + accountNumber + "," + amount);
+                } else {
+                    String target = accounts.get(activeAccount()).getAccountNum();
+                    if (target.equals(accountNumber)) {
+                        writer.write("deposit," + accountNumber + "," + amount);
+                    } else {
+                        writer.write("transfer," + accountNumber + "," + target + "," + amount);
+                    }
+                }
+                writer.newLine();
+            }
+        }
+    }
+
+    private void buildActivityDistribution(int accountCount) {
+        int[] ranks = new int[accountCount];
+        for (int i = 0; i < accountCount; i++) {
+            ranks[i] = i + 1;
+        }
+        for (int i = accountCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int rank = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = rank;
+        }
+        activityCdf = new double[accountCount];
+        double total = 0;
+        for (int i = 0; i < accountCount; i++) {
+            total += 1 / Math.pow(ranks[i], activitySkew);
+            activityCdf[i] = total;
+        }
+        for (int i = 0; i < accountCount; i++) {
+            activityCdf[i] /= total;
+        }
+    }
+
+    private int activeAccount() {
+        int index = Arrays.binarySearch(activityCdf, random.nextDouble());
+        return Math.min(activityCdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+
+    private double amount() {
+        double amount = medianAmount * Math.exp(amountSpread * random.nextGaussian());
+        return Math.max(0.01, Math.round(amount * 100.0) / 100.0);
+    }
+
+    private Transaction transaction(String type, double amount, String sendingAccountId, String receivingAccountId, long time) {
+        Transaction transaction = new Transaction(accountHandles, type, amount, sendingAccountId, receivingAccountId,
+                new Date(time));
+        transaction.setId(nextId());
+        return transaction;
+    }
+
+    private String nextId() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
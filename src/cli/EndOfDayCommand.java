@@ -0,0 +1,36 @@
+package cli;
+
+import exceptions.FileReadException;
+import services.TransactionService;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+public class EndOfDayCommand {
+    public static int run(String[] args) {
+        if (args.length > 1) {
+            System.err.println("Usage: Main --eod [yyyy-MM-dd]");
+            return 2;
+        }
+
+        LocalDate date;
+        try {
+            date = args.length == 1 ? LocalDate.parse(args[0]) : LocalDate.now().minusDays(1);
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid date: " + args[0]);
+            return 2;
+        }
+
+        long start = System.nanoTime();
+        TransactionService transactionService = new TransactionService();
+        try {
+            int recorded = transactionService.recordEndOfDayBalances(date);
+            System.out.println("Recorded closing balances of " + recorded + " accounts for " + date + " in " +
+                    (System.nanoTime() - start) / 1_000_000 + " ms");
+            return 0;
+        } catch (FileReadException e) {
+            System.err.println("Error recording end-of-day balances: " + e.getMessage());
+            return 1;
+        }
+    }
+}
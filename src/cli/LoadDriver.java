@@ -0,0 +1,184 @@
+package cli;
+
+import exceptions.InvalidDataException;
+import model.AccountView;
+import services.TransactionService;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LoadDriver {
+    private static final byte DEPOSIT = 0;
+    private static final byte WITHDRAW = 1;
+    private static final byte TRANSFER = 2;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final TransactionService transactionService;
+    private byte[] operations;
+    private String[] sendingAccountIds;
+    private String[] receivingAccountIds;
+    private double[] amounts;
+    private int operationCount;
+
+    public LoadDriver(TransactionService transactionService) {
+        this.transactionService = transactionService;
+    }
+
+    public static int run(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: Main --load-test <data directory> [workload file] [threads=N] [--persist]");
+            return 2;
+        }
+        Path dataDirectory = Paths.get(args[0]);
+        Path workloadFile = dataDirectory.resolve("workload.txt");
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean persistent = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--persist")) {
+                persistent = true;
+            } else if (args[i].startsWith("threads=")) {
+                try {
+                    threads = Integer.parseInt(args[i].substring("threads=".length()));
+                } catch (NumberFormatException e) {
+                    System.err.println("Invalid thread count: " + args[i]);
+                    return 2;
+                }
+            } else {
+                workloadFile = Paths.get(args[i]);
+            }
+        }
+
+        long loadStart = System.nanoTime();
+        TransactionService transactionService = new TransactionService(dataDirectory.toString(), persistent);
+        System.out.println("Loaded " + transactionService.snapshot().getAccountCount() + " accounts from " +
+                dataDirectory + " in " + (System.nanoTime() - loadStart) / 1_000_000 + " ms" +
+                (persistent ? " (saving after every operation)" : ""));
+
+        LoadDriver driver = new LoadDriver(transactionService);
+        try {
+            driver.readWorkload(workloadFile);
+        } catch (IOException e) {
+            System.err.println("Error reading workload: " + e.getMessage());
+            return 1;
+        } catch (InvalidDataException e) {
+            System.err.println(e.getMessage());
+            return 2;
+        }
+        driver.replay(Math.max(1, threads));
+        return 0;
+    }
+
+    public void readWorkload(Path workloadFile) throws IOException, InvalidDataException {
+        Map<String, String> accountIds = new HashMap<>();
+        for (AccountView account : transactionService.snapshot().getAccounts()) {
+            accountIds.put(account.getAccountNum(), account.getId());
+            accountIds.put(account.getId(), account.getId());
+        }
+
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(workloadFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("#")) {
+                    lines.add(line);
+                }
+            }
+        }
+
+        operations = new byte[lines.size()];
+        sendingAccountIds = new String[lines.size()];
+        receivingAccountIds = new String[lines.size()];
+        amounts = new double[lines.size()];
+        operationCount = 0;
+        for (String line : lines) {
+            String[] fields = line.split(",");
+            byte operation = switch (fields[0].trim().toLowerCase()) {
+                case "deposit" -> DEPOSIT;
+                case "withdraw" -> WITHDRAW;
+                case "transfer" -> TRANSFER;
+                default -> throw new InvalidDataException("Unsupported workload operation: " + line);
+            };
+            int amountField = operation == TRANSFER ? 3 : 2;
+            if (fields.length <= amountField) {
+                throw new InvalidDataException("Incomplete workload operation: " + line);
+            }
+            String sendingAccountId = accountIds.get(fields[1].trim());
+            String receivingAccountId = operation == TRANSFER ? accountIds.get(fields[2].trim()) : null;
+            if (sendingAccountId == null || (operation == TRANSFER && receivingAccountId == null)) {
+                throw new InvalidDataException("Unknown account in workload operation: " + line);
+            }
+            try {
+                amounts[operationCount] = Double.parseDouble(fields[amountField].trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidDataException("Invalid amount in workload operation: " + line);
+            }
+            operations[operationCount] = operation;
+            sendingAccountIds[operationCount] = sendingAccountId;
+            receivingAccountIds[operationCount] = receivingAccountId;
+            operationCount++;
+        }
+    }
+
+    public void replay(int threads) {
+        long[] latencies = new long[operationCount];
+        AtomicInteger next = new AtomicInteger();
+        LongAdder rejected = new LongAdder();
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < operationCount) {
+                    long start = System.nanoTime();
+                    boolean succeeded = switch (operations[index]) {
+                        case DEPOSIT -> transactionService.deposit(sendingAccountIds[index], amounts[index]);
+                        case WITHDRAW -> transactionService.withdraw(sendingAccountIds[index], amounts[index]);
+                        default -> transactionService.transfer(sendingAccountIds[index], receivingAccountIds[index], amounts[index]);
+                    };
+                    latencies[index] = System.nanoTime() - start;
+                    if (!succeeded) {
+                        rejected.increment();
+                    }
+                }
+            }, "load-driver-" + t);
+            workers.add(worker);
+        }
+
+        long start = System.nanoTime();
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Load test interrupted");
+                return;
+            }
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        Arrays.sort(latencies);
+        System.out.printf("Replayed %d operations on %d threads in %d ms, %.0f ops/s (%d rejected)%n",
+                operationCount, threads, elapsed / 1_000_000, operationCount * 1_000_000_000.0 / elapsed, rejected.sum());
+        if (operationCount == 0) return;
+        StringBuilder percentiles = new StringBuilder("Latency (us):");
+        for (double percentile : PERCENTILES) {
+            int index = (int) Math.min(operationCount - 1, Math.ceil(percentile / 100.0 * operationCount) - 1);
+            percentiles.append(String.format(" p%s=%.1f", percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile),
+                    latencies[Math.max(0, index)] / 1_000.0));
+        }
+        percentiles.append(String.format(" max=%.1f", latencies[operationCount - 1] / 1_000.0));
+        System.out.println(percentiles);
+    }
+}
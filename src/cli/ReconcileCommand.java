@@ -0,0 +1,51 @@
+package cli;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+import services.LedgerReconciler;
+import services.ReconciliationReport;
+
+import java.util.List;
+
+public class ReconcileCommand {
+    private static final int MAX_LISTED = 50;
+
+    public static int run(String[] args) {
+        if (args.length != 0 && args.length != 2) {
+            System.err.println("Usage: Main --reconcile [transactions file] [accounts file]");
+            return 2;
+        }
+        String transactionsFile = args.length == 2 ? args[0] : "transactions.csv";
+        String accountsFile = args.length == 2 ? args[1] : "accounts.csv";
+
+        ReconciliationReport report;
+        try {
+            report = new LedgerReconciler().reconcile(transactionsFile, accountsFile);
+        } catch (FileReadException | InvalidDataException e) {
+            System.err.println("Error reconciling ledger: " + e.getMessage());
+            return 1;
+        }
+
+        System.out.println("Reconciled " + report.getAccountsChecked() + " accounts against " +
+                report.getTransactionRows() + " transactions in " + report.getElapsedMillis() + " ms" +
+                " (" + report.getDuplicateRows() + " duplicate and " + report.getMalformedRows() + " malformed rows skipped)");
+        print("Balance discrepancies", report.getDiscrepancies());
+        print("Accounts with history but missing from the accounts file", report.getOrphanedAccounts());
+        if (report.isBalanced()) {
+            System.out.println("All balances agree with the transaction history");
+            return 0;
+        }
+        return 1;
+    }
+
+    private static void print(String title, List<ReconciliationReport.Discrepancy> discrepancies) {
+        if (discrepancies.isEmpty()) return;
+        System.out.println(title + ": " + discrepancies.size());
+        for (int i = 0; i < Math.min(MAX_LISTED, discrepancies.size()); i++) {
+            System.out.println("  " + discrepancies.get(i));
+        }
+        if (discrepancies.size() > MAX_LISTED) {
+            System.out.println("  ... " + (discrepancies.size() - MAX_LISTED) + " more");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package cli;
+
+import exceptions.FileReadException;
+import services.StatementGenerator;
+import services.StatementRun;
+import services.TransactionService;
+
+import java.nio.file.Paths;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+
+public class StatementCommand {
+    public static int run(String[] args) {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: Main --statements <yyyy-MM> [output directory] [--text]");
+            return 2;
+        }
+
+        YearMonth period;
+        try {
+            period = YearMonth.parse(args[0]);
+        } catch (DateTimeParseException e) {
+            System.err.println("Invalid statement period: " + args[0]);
+            return 2;
+        }
+        String outputDirectory = "statements";
+        StatementGenerator.Format format = StatementGenerator.Format.CSV;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--text")) {
+                format = StatementGenerator.Format.TEXT;
+            } else {
+                outputDirectory = args[i];
+            }
+        }
+
+        TransactionService transactionService = new TransactionService();
+        try {
+            StatementRun run = new StatementGenerator(transactionService)
+                    .generate(period, Paths.get(outputDirectory), format);
+            System.out.println("Wrote " + run.getStatementsWritten() + " statements for " + period + " (" +
+                    run.getTransactionCount() + " transactions) to " + outputDirectory + " in " +
+                    run.getElapsedMillis() + " ms");
+            return run.getStatementsFailed() == 0 ? 0 : 1;
+        } catch (FileReadException e) {
+            System.err.println("Error generating statements: " + e.getMessage());
+            return 1;
+        }
+    }
+}
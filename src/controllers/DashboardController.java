@@ -1,7 +1,11 @@
 package controllers;
 
+import exceptions.VersionConflictException;
 import model.Account;
 import model.Customer;
+import services.LedgerSnapshot;
+import services.TransactionAnalysis;
+import services.TransactionAnalytics;
 import services.TransactionService;
 import java.util.List;
 import java.util.Random;
@@ -17,6 +21,14 @@ public class DashboardController {
         return transactionService.getAllCustomers();
     }
 
+    public LedgerSnapshot getSnapshot() {
+        return transactionService.snapshot();
+    }
+
+    public TransactionAnalysis analyzeTransactions(int topAccounts) {
+        return new TransactionAnalytics(transactionService).analyze(topAccounts);
+    }
+
     public Customer findCustomerById(String customerId) {
         return transactionService.findCustomerById(customerId);
     }
@@ -35,7 +47,8 @@ public class DashboardController {
         }
     }
 
-    public boolean updateCustomer(String customerId, String name, String email, String phone) {
+    public boolean updateCustomer(String customerId, long expectedVersion, String name, String email, String phone)
+            throws VersionConflictException {
         if (customerId == null) {
             return false;
         }
@@ -45,16 +58,10 @@ public class DashboardController {
             return false;
         }
 
-        Customer customer = transactionService.findCustomerById(customerId);
-        if (customer == null) {
-            return false;
-        }
-
         try {
-            customer.setName(name.trim());
-            customer.setEmail(email.trim());
-            customer.setPhone(phone.trim());
-            return transactionService.updateCustomer(customer);
+            Customer changes = new Customer(name.trim(), email.trim(), phone.trim());
+            changes.setId(customerId);
+            return transactionService.updateCustomer(changes, expectedVersion);
         } catch (IllegalArgumentException e) {
             return false;
         }
@@ -104,12 +111,12 @@ public class DashboardController {
         return accountAdded;
     }
 
-    public boolean removeAccount(String accountId) {
+    public boolean removeAccount(String accountId, long expectedVersion) throws VersionConflictException {
         Account account = transactionService.findAccountById(accountId);
         if (account == null) {
             return false;
         }
-        return transactionService.deleteAccount(account.getCustomerId(), accountId);
+        return transactionService.deleteAccount(account.getCustomerId(), accountId, expectedVersion);
     }
 
     private String generateAccountNumber() {
@@ -3,14 +3,25 @@ package controllers;
 import model.Account;
 import model.Customer;
 import model.Transaction;
+import services.OperationTrace;
+import services.TransactionCursor;
+import services.TransactionPage;
 import services.TransactionService;
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class TransactionController {
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
     private final TransactionService transactionService;
     private String accountId;
+    private final Map<String, String> accountNumbers = new ConcurrentHashMap<>();
+    private final Map<Transaction, DisplayRow> displayRows = new ConcurrentHashMap<>();
 
     public TransactionController(TransactionService transactionService, String accountId) {
         this.transactionService = transactionService;
@@ -21,6 +32,10 @@ public class TransactionController {
         return transactionService.getTransactionsByAccount(accountId);
     }
 
+    public TransactionPage getTransactionsPage(TransactionCursor after, int limit) {
+        return transactionService.getTransactionsPage(accountId, after, limit);
+    }
+
     public Account getCurrentAccount() {
         return transactionService.findAccountById(accountId);
     }
@@ -34,61 +49,107 @@ public class TransactionController {
     }
 
     public boolean deposit(double amount) {
-        if (!isValidAmount(amount)) {
-            return false;
+        OperationTrace trace = OperationTrace.begin("controller.deposit");
+        boolean result = false;
+        try {
+            boolean valid = isValidAmount(amount);
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            if (!valid) {
+                return false;
+            }
+            result = transactionService.deposit(accountId, amount);
+            return result;
+        } finally {
+            trace.end(result);
         }
-        return transactionService.deposit(accountId, amount);
     }
 
     public boolean withdraw(double amount) {
-        if (!isValidAmount(amount)) {
-            return false;
+        OperationTrace trace = OperationTrace.begin("controller.withdraw");
+        boolean result = false;
+        try {
+            boolean valid = isValidAmount(amount);
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            if (!valid) {
+                return false;
+            }
+            result = transactionService.withdraw(accountId, amount);
+            return result;
+        } finally {
+            trace.end(result);
         }
-        return transactionService.withdraw(accountId, amount);
     }  
     
     public boolean transfer(String targetAccountId, double amount) {
-        if (!isValidAmount(amount)) {
-            System.err.println("Transfer failed: Invalid amount " + amount);
-            return false;
-        }
+        OperationTrace trace = OperationTrace.begin("controller.transfer");
+        boolean result = false;
+        try {
+            boolean valid = isValidAmount(amount);
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            if (!valid) {
+                System.err.println("Transfer failed: Invalid amount " + amount);
+                return false;
+            }
 
-        Account targetAccount = transactionService.findAccountById(targetAccountId);
-        if (targetAccount == null) {
-            System.err.println("Transfer failed: Target account not found " + targetAccountId);
-            return false;
-        }
+            Account targetAccount = transactionService.findAccountById(targetAccountId);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+            if (targetAccount == null) {
+                System.err.println("Transfer failed: Target account not found " + targetAccountId);
+                return false;
+            }
 
-        if (accountId.equals(targetAccountId)) {
-            System.err.println("Transfer failed: Self transfer attempted from " + accountId + " to " + targetAccountId);
-            return false;
-        }
+            if (accountId.equals(targetAccountId)) {
+                System.err.println("Transfer failed: Self transfer attempted from " + accountId + " to " + targetAccountId);
+                return false;
+            }
 
-        Account sourceAccount = transactionService.findAccountById(accountId);
-        if (sourceAccount == null) {
-            System.err.println("Transfer failed: Source account not found " + accountId);
-            return false;
-        }
+            Account sourceAccount = transactionService.findAccountById(accountId);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+            if (sourceAccount == null) {
+                System.err.println("Transfer failed: Source account not found " + accountId);
+                return false;
+            }
 
-        if (sourceAccount.getBalance() < amount) {
-            System.err.println("Transfer failed: Insufficient funds. Balance: " + sourceAccount.getBalance() + ", Amount: " + amount);
-            return false;
-        }        
-        boolean result = transactionService.transfer(accountId, targetAccountId, amount);
-        return result;
+            if (sourceAccount.getBalance() < amount) {
+                System.err.println("Transfer failed: Insufficient funds. Balance: " + sourceAccount.getBalance() + ", Amount: " + amount);
+                return false;
+            }
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            result = transactionService.transfer(accountId, targetAccountId, amount);
+            return result;
+        } finally {
+            trace.end(result);
+        }
     }
 
     public Object[] formatTransactionForDisplay(Transaction transaction) {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        String fromTo = determineTransactionDirection(transaction);
+        return displayRows.computeIfAbsent(transaction, this::projectTransaction).cells;
+    }
 
-        return new Object[]{
+    public void invalidateAccount(String changedAccountId) {
+        accountNumbers.remove(changedAccountId);
+        displayRows.values().removeIf(row -> row.references(changedAccountId));
+    }
+
+    private DisplayRow projectTransaction(Transaction transaction) {
+        Object[] cells = {
                 transaction.getId(),
                 transaction.getType(),
                 transaction.getAmount(),
-                dateFormat.format(transaction.getTimeStamp()),
-                fromTo
+                DATE_FORMAT.format(Instant.ofEpochMilli(transaction.getTimeMillis())),
+                determineTransactionDirection(transaction)
         };
+        return new DisplayRow(cells, transaction.getSendingAccountId(), transaction.getReceivingAccountId());
+    }
+
+    private String accountNumber(String id) {
+        if (id == null) return null;
+        String cached = accountNumbers.get(id);
+        if (cached != null) return cached;
+        Account account = transactionService.findAccountById(id);
+        if (account == null) return null;
+        accountNumbers.put(id, account.getAccountNum());
+        return account.getAccountNum();
     }
 
     public String validateAmount(String amountStr) {
@@ -176,22 +237,23 @@ public class TransactionController {
     }
 
     private String determineTransactionDirection(Transaction transaction) {
-        Account account = getCurrentAccount();
-        if (account == null) return "";
-
-        return switch (transaction.getType()) {
-            case "Deposit" -> "External → " + account.getAccountNum();
-            case "Withdrawal" -> account.getAccountNum() + " → External";
-            case "Transfer" -> {
+        String currentNumber = accountNumber(accountId);
+        if (currentNumber == null) return "";
+
+        return switch (transaction.getTransactionType()) {
+            case DEPOSIT -> "External → " + currentNumber;
+            case WITHDRAWAL -> currentNumber + " → External";
+            case INTEREST -> "Bank → " + currentNumber;
+            case FEE -> currentNumber + " → Bank";
+            case TRANSFER -> {
                 if (accountId.equals(transaction.getSendingAccountId())) {
-                    Account target = transactionService.findAccountById(transaction.getReceivingAccountId());
-                    yield account.getAccountNum() + " → " + (target != null ? target.getAccountNum() : "Unknown");
+                    String target = accountNumber(transaction.getReceivingAccountId());
+                    yield currentNumber + " → " + (target != null ? target : "Unknown");
                 } else {
-                    Account source = transactionService.findAccountById(transaction.getSendingAccountId());
-                    yield (source != null ? source.getAccountNum() : "Unknown") + " → " + account.getAccountNum();
+                    String source = accountNumber(transaction.getSendingAccountId());
+                    yield (source != null ? source : "Unknown") + " → " + currentNumber;
                 }
             }
-            default -> "";
         };
     }
 
@@ -245,4 +307,20 @@ public class TransactionController {
     public List<Account> getAccountsByCustomerId(String customerId) {
         return transactionService.getAccountsByCustomerId(customerId);
     }
+
+    private static final class DisplayRow {
+        private final Object[] cells;
+        private final String sendingAccountId;
+        private final String receivingAccountId;
+
+        private DisplayRow(Object[] cells, String sendingAccountId, String receivingAccountId) {
+            this.cells = cells;
+            this.sendingAccountId = sendingAccountId;
+            this.receivingAccountId = receivingAccountId;
+        }
+
+        private boolean references(String id) {
+            return id.equals(sendingAccountId) || id.equals(receivingAccountId);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package exceptions;
+
+public class VersionConflictException extends Exception {
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public VersionConflictException(String message, long expectedVersion, long currentVersion) {
+        super(message);
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,7 @@
+package interfaces;
+
+import services.LedgerEvent;
+
+public interface ILedgerListener {
+    void onLedgerEvent(LedgerEvent event);
+}
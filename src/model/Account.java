@@ -40,16 +40,17 @@ public class Account extends BankEntity {
         return transactions;
     }
 
-    public void deposit(double amount) {
+    public void deposit(double amount, AccountHandles accountHandles) {
         if (amount <= 0) {
             throw new IllegalArgumentException("Deposit amount must be positive.");
         }
         balance += amount;
-        Transaction transaction = new Transaction("Deposit", amount, this.id, null, new Date());
+        Transaction transaction = new Transaction(accountHandles, TransactionType.DEPOSIT, amount, this.id, null,
+                System.currentTimeMillis());
         transactions.add(transaction);
     }
 
-    public void withdraw(double amount) throws InsufficientFundsException {
+    public void withdraw(double amount, AccountHandles accountHandles) throws InsufficientFundsException {
         if (amount <= 0) {
             throw new IllegalArgumentException("Withdrawal amount must be positive.");
         }
@@ -57,16 +58,39 @@ public class Account extends BankEntity {
             throw new InsufficientFundsException("Insufficient funds. Current balance: " + balance);
         }
         balance -= amount;
-        Transaction transaction = new Transaction("Withdrawal", amount, null, this.id, new Date());
+        Transaction transaction = new Transaction(accountHandles, TransactionType.WITHDRAWAL, amount, null, this.id,
+                System.currentTimeMillis());
         transactions.add(transaction);
     }
 
-    public void transfer(Account receiver, double amount) throws  InsufficientFundsException {
+    public Transaction creditInterest(double amount, Date postedAt, AccountHandles accountHandles) {
+        if (amount <= 0) throw new IllegalArgumentException("Interest amount must be positive.");
+        balance += amount;
+        Transaction transaction = new Transaction(accountHandles, TransactionType.INTEREST, amount, this.id, null,
+                postedAt.getTime());
+        transactions.add(transaction);
+        return transaction;
+    }
+
+    public Transaction chargeFee(double amount, Date postedAt, AccountHandles accountHandles) throws InsufficientFundsException {
+        if (amount <= 0) throw new IllegalArgumentException("Fee amount must be positive.");
+        if (amount > this.balance) {
+            throw new InsufficientFundsException("Insufficient funds for fee. Current balance: " + balance);
+        }
+        balance -= amount;
+        Transaction transaction = new Transaction(accountHandles, TransactionType.FEE, amount, null, this.id,
+                postedAt.getTime());
+        transactions.add(transaction);
+        return transaction;
+    }
+
+    public void transfer(Account receiver, double amount, AccountHandles accountHandles) throws  InsufficientFundsException {
         if (amount <= 0) throw new IllegalArgumentException("Transfer amount must be positive");
         if (balance < amount) throw new InsufficientFundsException("Insufficient funds. Current balance: " + balance);
         balance -= amount;
         receiver.balance += amount;
-        Transaction transaction = new Transaction("Transfer", amount, this.id, receiver.id, new Date());
+        Transaction transaction = new Transaction(accountHandles, TransactionType.TRANSFER, amount, this.id, receiver.id,
+                System.currentTimeMillis());
         transactions.add(transaction);
         receiver.transactions.add(transaction);
     }
@@ -0,0 +1,41 @@
+package model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AccountHandles {
+    public static final int NONE = -1;
+
+    private final ConcurrentHashMap<String, Integer> handles = new ConcurrentHashMap<>();
+    private volatile String[] accountIds = new String[1024];
+    private int count;
+
+    public int handleOf(String accountId) {
+        if (accountId == null) return NONE;
+        Integer handle = handles.get(accountId);
+        return handle != null ? handle : register(accountId);
+    }
+
+    public int find(String accountId) {
+        if (accountId == null) return NONE;
+        Integer handle = handles.get(accountId);
+        return handle != null ? handle : NONE;
+    }
+
+    public String accountIdOf(int handle) {
+        return handle == NONE ? null : accountIds[handle];
+    }
+
+    private synchronized int register(String accountId) {
+        Integer existing = handles.get(accountId);
+        if (existing != null) return existing;
+        String[] ids = accountIds;
+        if (count == ids.length) {
+            ids = Arrays.copyOf(ids, count * 2);
+        }
+        ids[count] = accountId;
+        accountIds = ids;
+        handles.put(accountId, count);
+        return count++;
+    }
+}
@@ -0,0 +1,58 @@
+package model;
+
+public final class AccountView {
+    private final String id;
+    private final long version;
+    private final String name;
+    private final String accountNumber;
+    private final String customerId;
+    private final String customerName;
+    private final double balance;
+
+    public AccountView(Account account, Customer owner) {
+        this.id = account.getId();
+        this.version = account.getVersion();
+        this.name = account.getName();
+        this.accountNumber = account.getAccountNum();
+        this.customerId = account.getCustomerId();
+        this.customerName = owner.getName();
+        this.balance = account.getBalance();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAccountNum() {
+        return accountNumber;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    public double getBalance() {
+        return balance;
+    }
+
+    @Override
+    public String toString() {
+        return "AccountView{" +
+                "id='" + id + '\'' +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", balance=" + balance +
+                '}';
+    }
+}
@@ -6,6 +6,7 @@ import java.util.UUID;
 public class BankEntity implements Serializable {
     protected String id;
     protected String name;
+    protected long version;
 
     public BankEntity() {
         this.id = UUID.randomUUID().toString();
@@ -31,4 +32,24 @@ public class BankEntity implements Serializable {
     public void setName(String name) {
         this.name = name;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public void incrementVersion() {
+        version++;
+    }
+
+    public boolean compareAndIncrementVersion(long expectedVersion) {
+        if (version != expectedVersion) {
+            return false;
+        }
+        version++;
+        return true;
+    }
 }
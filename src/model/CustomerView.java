@@ -0,0 +1,73 @@
+package model;
+
+public final class CustomerView {
+    private final String id;
+    private final long version;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final int accountsCount;
+    private final double totalBalance;
+
+    public CustomerView(Customer customer, double totalBalance) {
+        this.id = customer.getId();
+        this.version = customer.getVersion();
+        this.name = customer.getName();
+        this.email = customer.getEmail();
+        this.phone = customer.getPhone();
+        this.accountsCount = customer.getAccountsCount();
+        this.totalBalance = totalBalance;
+    }
+
+    private CustomerView(CustomerView view, double totalBalance) {
+        this.id = view.id;
+        this.version = view.version;
+        this.name = view.name;
+        this.email = view.email;
+        this.phone = view.phone;
+        this.accountsCount = view.accountsCount;
+        this.totalBalance = totalBalance;
+    }
+
+    public CustomerView withTotalBalance(double totalBalance) {
+        return new CustomerView(this, totalBalance);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public int getAccountsCount() {
+        return accountsCount;
+    }
+
+    public double getTotalBalance() {
+        return totalBalance;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerView{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", accounts=" + accountsCount +
+                ", totalBalance=" + totalBalance +
+                '}';
+    }
+}
@@ -1,23 +1,85 @@
 package model;
 
+import java.io.Serializable;
 import java.util.Date;
+import java.util.UUID;
 
-public class Transaction extends BankEntity {
-    private String type;
-    private double amount;
-    private String sendingAccountId;
-    private String receivingAccountId;
-    private Date timeStamp;
+public class Transaction implements Serializable {
+    private final AccountHandles accountHandles;
+    private final TransactionType type;
+    private final double amount;
+    private final int sendingAccount;
+    private final int receivingAccount;
+    private final long timeMillis;
+    private String id;
+    private long idHigh;
+    private long idLow;
 
-    public Transaction(String type, double amount, String sendingAccountId, String receivingAccountId, Date timeStamp) {
+    public Transaction(AccountHandles accountHandles, String type, double amount, String sendingAccountId,
+                       String receivingAccountId, Date timeStamp) {
+        this(accountHandles, TransactionType.fromLabel(type), amount, sendingAccountId, receivingAccountId,
+                timeStamp.getTime());
+    }
+
+    public Transaction(AccountHandles accountHandles, TransactionType type, double amount, String sendingAccountId,
+                       String receivingAccountId, long timeMillis) {
+        this.accountHandles = accountHandles;
+        UUID uuid = UUID.randomUUID();
+        this.idHigh = uuid.getMostSignificantBits();
+        this.idLow = uuid.getLeastSignificantBits();
         this.type = type;
         this.amount = amount;
-        this.sendingAccountId = sendingAccountId;
-        this.receivingAccountId = receivingAccountId;
-        this.timeStamp = timeStamp;
+        this.sendingAccount = accountHandles.handleOf(sendingAccountId);
+        this.receivingAccount = accountHandles.handleOf(receivingAccountId);
+        this.timeMillis = timeMillis;
+    }
+
+    public String getId() {
+        return id != null ? id : formatUuid(idHigh, idLow);
+    }
+
+    public int compareIdTo(Transaction other) {
+        if (id == null && other.id == null) {
+            int result = Long.compareUnsigned(idHigh, other.idHigh);
+            return result != 0 ? result : Long.compareUnsigned(idLow, other.idLow);
+        }
+        return getId().compareTo(other.getId());
+    }
+
+    public int compareIdTo(String otherId) {
+        if (id == null && isCanonicalUuid(otherId)) {
+            int result = Long.compareUnsigned(idHigh, parseHigh(otherId));
+            return result != 0 ? result : Long.compareUnsigned(idLow, parseLow(otherId));
+        }
+        return getId().compareTo(otherId);
+    }
+
+    public boolean hasSameId(Transaction other) {
+        if (id == null || other.id == null) {
+            return id == other.id && idHigh == other.idHigh && idLow == other.idLow;
+        }
+        return id.equals(other.id);
+    }
+
+    public int idHashCode() {
+        return id != null ? id.hashCode() : Long.hashCode(idHigh ^ idLow);
+    }
+
+    public void setId(String id) {
+        if (isCanonicalUuid(id)) {
+            this.id = null;
+            this.idHigh = parseHigh(id);
+            this.idLow = parseLow(id);
+        } else {
+            this.id = id;
+        }
     }
 
     public String getType() {
+        return type.getLabel();
+    }
+
+    public TransactionType getTransactionType() {
         return type;
     }
 
@@ -26,26 +88,91 @@ public class Transaction extends BankEntity {
     }
 
     public String getSendingAccountId() {
-        return sendingAccountId;
+        return accountHandles.accountIdOf(sendingAccount);
     }
 
     public String getReceivingAccountId() {
-        return receivingAccountId;
+        return accountHandles.accountIdOf(receivingAccount);
     }
 
     public Date getTimeStamp() {
-        return timeStamp;
+        return new Date(timeMillis);
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public double getBalanceEffect(String accountId) {
+        int handle = accountHandles.find(accountId);
+        if (handle == AccountHandles.NONE) return 0.0;
+        return amount * type.balanceDirection(handle == sendingAccount, handle == receivingAccount);
+    }
+
+    public static int balanceDirection(String type, boolean sending, boolean receiving) {
+        TransactionType transactionType = TransactionType.find(type);
+        return transactionType == null ? 0 : transactionType.balanceDirection(sending, receiving);
+    }
+
+    private static boolean isCanonicalUuid(String value) {
+        if (value == null || value.length() != 36) return false;
+        for (int i = 0; i < 36; i++) {
+            char c = value.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return false;
+            } else if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long parseHigh(String uuid) {
+        return parseHex(uuid, 0, 8) << 32 | parseHex(uuid, 9, 13) << 16 | parseHex(uuid, 14, 18);
+    }
+
+    private static long parseLow(String uuid) {
+        return parseHex(uuid, 19, 23) << 48 | parseHex(uuid, 24, 36);
+    }
+
+    private static String formatUuid(long high, long low) {
+        char[] chars = new char[36];
+        formatHex(chars, 0, 8, high >>> 32);
+        chars[8] = '-';
+        formatHex(chars, 9, 13, high >>> 16);
+        chars[13] = '-';
+        formatHex(chars, 14, 18, high);
+        chars[18] = '-';
+        formatHex(chars, 19, 23, low >>> 48);
+        chars[23] = '-';
+        formatHex(chars, 24, 36, low);
+        return new String(chars);
+    }
+
+    private static void formatHex(char[] chars, int from, int to, long value) {
+        for (int i = to - 1; i >= from; i--) {
+            chars[i] = Character.forDigit((int) (value & 0xF), 16);
+            value >>>= 4;
+        }
+    }
+
+    private static long parseHex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = result << 4 | Character.digit(value.charAt(i), 16);
+        }
+        return result;
     }
 
     @Override
     public String toString() {
         return "Transaction{" +
-                "id='" + id + '\'' +
+                "id='" + getId() + '\'' +
                 ", type='" + type + '\'' +
                 ", amount=" + amount +
-                ", sourceAccountId='" + sendingAccountId + '\'' +
-                ", targetAccountId='" + receivingAccountId + '\'' +
-                ", timestamp=" + timeStamp +
+                ", sourceAccountId='" + getSendingAccountId() + '\'' +
+                ", targetAccountId='" + getReceivingAccountId() + '\'' +
+                ", timestamp=" + getTimeStamp() +
                 '}';
     }
 
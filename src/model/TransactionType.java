@@ -0,0 +1,51 @@
+package model;
+
+public enum TransactionType {
+    DEPOSIT("Deposit"),
+    WITHDRAWAL("Withdrawal"),
+    TRANSFER("Transfer"),
+    INTEREST("Interest"),
+    FEE("Fee");
+
+    private static final TransactionType[] VALUES = values();
+
+    private final String label;
+
+    TransactionType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int balanceDirection(boolean sending, boolean receiving) {
+        return switch (this) {
+            case DEPOSIT, INTEREST -> sending || receiving ? 1 : 0;
+            case WITHDRAWAL, FEE -> sending || receiving ? -1 : 0;
+            case TRANSFER -> (receiving ? 1 : 0) - (sending ? 1 : 0);
+        };
+    }
+
+    public static TransactionType fromLabel(String label) {
+        TransactionType type = find(label);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown transaction type: " + label);
+        }
+        return type;
+    }
+
+    static TransactionType find(String label) {
+        for (TransactionType type : VALUES) {
+            if (type.label.equals(label)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
@@ -11,13 +11,16 @@ import java.util.List;
 
 public class AccountCSVHandler implements IFileHandler<Account> {
     private final String fileName;
+    private final StorageMetrics metrics;
 
     public AccountCSVHandler(String fileName) {
         this.fileName = fileName;
+        metrics = new StorageMetrics(fileName);
     }
 
     @Override
     public List<Account> loadData() throws FileReadException, InvalidDataException {
+        FileIoEvent event = metrics.begin();
         List<Account> accounts = new ArrayList<>();
         File file = new File(fileName);
         if (!file.exists()) return accounts;
@@ -31,26 +34,35 @@ public class AccountCSVHandler implements IFileHandler<Account> {
                 Account account = new Account(data[1], data[2], data[3]);
                 account.setId(data[0]);
                 account.setBalance(Double.parseDouble(data[4]));
+                if (data.length > 5) {
+                    account.setVersion(Long.parseLong(data[5]));
+                }
                 accounts.add(account);
             }
         } catch (Exception e) {
             throw new FileReadException("Error while reading file " + fileName + e.getMessage());
         } catch (Throwable e) {
             throw new InvalidDataException("Error while reading file " + fileName + e.getMessage());
+        } finally {
+            metrics.recordLoad(event, accounts.size());
         }
         return accounts;
     }
 
     @Override
     public void saveData(List<Account> accounts) throws FileReadException {
+        FileIoEvent event = metrics.begin();
         File file = new File(fileName);
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
             for (Account account : accounts) {
-            writer.write(String.join(",", account.getId(), account.getName(), account.getAccountNum(), account.getCustomerId(), String.valueOf(account.getBalance())));
+            writer.write(String.join(",", account.getId(), account.getName(), account.getAccountNum(), account.getCustomerId(), String.valueOf(account.getBalance()),
+                    String.valueOf(account.getVersion())));
             writer.newLine();
             }
         } catch (Exception e) {
             throw new FileReadException("Error while writing file " + fileName + e.getMessage());
+        } finally {
+            metrics.recordSave(event, accounts.size());
         }
     }
 }
\ No newline at end of file
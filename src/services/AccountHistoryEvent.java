@@ -0,0 +1,26 @@
+package services;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bankingsystem.AccountHistory")
+@Label("Account History Query")
+@Category({"Banking System", "Queries"})
+@Description("A getTransactionsByAccount call and the number of transactions it returned")
+final class AccountHistoryEvent extends jdk.jfr.Event {
+    @Label("Account Id")
+    String accountId;
+
+    @Label("Result Size")
+    int resultSize;
+
+    void complete(String accountId, int resultSize) {
+        end();
+        if (!shouldCommit()) return;
+        this.accountId = accountId;
+        this.resultSize = resultSize;
+        commit();
+    }
+}
@@ -0,0 +1,37 @@
+package services;
+
+import model.AccountView;
+import model.Transaction;
+
+import java.util.List;
+
+public final class AccountHistorySlice {
+    private final AccountView account;
+    private final List<Transaction> transactions;
+    private final double openingBalance;
+    private final double closingBalance;
+
+    AccountHistorySlice(AccountView account, List<Transaction> transactions, double openingBalance,
+                        double closingBalance) {
+        this.account = account;
+        this.transactions = transactions;
+        this.openingBalance = openingBalance;
+        this.closingBalance = closingBalance;
+    }
+
+    public AccountView getAccount() {
+        return account;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public double getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public double getClosingBalance() {
+        return closingBalance;
+    }
+}
@@ -0,0 +1,78 @@
+package services;
+
+import model.AccountView;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class AccrualEngine {
+    private static final int LEAF_SIZE = 1024;
+
+    private final TransactionService transactionService;
+    private final ProductCatalog catalog;
+    private final ForkJoinPool pool;
+
+    public AccrualEngine(TransactionService transactionService, ProductCatalog catalog) {
+        this(transactionService, catalog, ForkJoinPool.commonPool());
+    }
+
+    public AccrualEngine(TransactionService transactionService, ProductCatalog catalog, ForkJoinPool pool) {
+        this.transactionService = transactionService;
+        this.catalog = catalog;
+        this.pool = pool;
+    }
+
+    public List<AccrualPosting> computeMonthly(LedgerSnapshot snapshot) {
+        List<AccountView> accounts = snapshot.getAccounts();
+        return pool.invoke(new AccrualTask(accounts, 0, accounts.size()));
+    }
+
+    public AccrualRun runMonthly() {
+        long start = System.nanoTime();
+        LedgerSnapshot snapshot = transactionService.snapshot();
+        List<AccrualPosting> postings = computeMonthly(snapshot);
+        long computed = System.nanoTime();
+        AccrualRun run = transactionService.postAccruals(postings, new Date());
+        return run.withTimings(snapshot.getAccountCount(), (computed - start) / 1_000_000,
+                (System.nanoTime() - computed) / 1_000_000);
+    }
+
+    private final class AccrualTask extends RecursiveTask<List<AccrualPosting>> {
+        private final List<AccountView> accounts;
+        private final int from;
+        private final int to;
+
+        private AccrualTask(List<AccountView> accounts, int from, int to) {
+            this.accounts = accounts;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<AccrualPosting> compute() {
+            if (to - from <= LEAF_SIZE) {
+                List<AccrualPosting> postings = new ArrayList<>();
+                for (int i = from; i < to; i++) {
+                    AccountView account = accounts.get(i);
+                    ProductTerms terms = catalog.find(account.getName());
+                    if (terms == null) continue;
+                    AccrualPosting posting = new AccrualPosting(account.getId(), account.getVersion(), terms, account.getBalance());
+                    if (!posting.isEmpty()) {
+                        postings.add(posting);
+                    }
+                }
+                return postings;
+            }
+            int middle = (from + to) >>> 1;
+            AccrualTask left = new AccrualTask(accounts, from, middle);
+            left.fork();
+            List<AccrualPosting> right = new AccrualTask(accounts, middle, to).compute();
+            List<AccrualPosting> postings = left.join();
+            postings.addAll(right);
+            return postings;
+        }
+    }
+}
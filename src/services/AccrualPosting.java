@@ -0,0 +1,45 @@
+package services;
+
+public final class AccrualPosting {
+    private final String accountId;
+    private final long accountVersion;
+    private final ProductTerms terms;
+    private final double interest;
+    private final double fee;
+
+    AccrualPosting(String accountId, long accountVersion, ProductTerms terms, double balance) {
+        this.accountId = accountId;
+        this.accountVersion = accountVersion;
+        this.terms = terms;
+        this.interest = terms.monthlyInterest(balance);
+        this.fee = terms.monthlyFee(ProductTerms.roundToCents(balance + interest));
+    }
+
+    AccrualPosting forBalance(long currentVersion, double currentBalance) {
+        return new AccrualPosting(accountId, currentVersion, terms, currentBalance);
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public long getAccountVersion() {
+        return accountVersion;
+    }
+
+    public ProductTerms getTerms() {
+        return terms;
+    }
+
+    public double getInterest() {
+        return interest;
+    }
+
+    public double getFee() {
+        return fee;
+    }
+
+    public boolean isEmpty() {
+        return interest <= 0 && fee <= 0;
+    }
+}
@@ -0,0 +1,82 @@
+package services;
+
+public final class AccrualRun {
+    private final int accountsScanned;
+    private final int interestPostings;
+    private final int feePostings;
+    private final int skipped;
+    private final int alreadyAccrued;
+    private final double totalInterest;
+    private final double totalFees;
+    private final long computeMillis;
+    private final long postMillis;
+
+    AccrualRun(int accountsScanned, int interestPostings, int feePostings, int skipped, int alreadyAccrued,
+               double totalInterest, double totalFees, long computeMillis, long postMillis) {
+        this.accountsScanned = accountsScanned;
+        this.interestPostings = interestPostings;
+        this.feePostings = feePostings;
+        this.skipped = skipped;
+        this.alreadyAccrued = alreadyAccrued;
+        this.totalInterest = totalInterest;
+        this.totalFees = totalFees;
+        this.computeMillis = computeMillis;
+        this.postMillis = postMillis;
+    }
+
+    AccrualRun withTimings(int accountsScanned, long computeMillis, long postMillis) {
+        return new AccrualRun(accountsScanned, interestPostings, feePostings, skipped, alreadyAccrued, totalInterest,
+                totalFees, computeMillis, postMillis);
+    }
+
+    public int getAccountsScanned() {
+        return accountsScanned;
+    }
+
+    public int getInterestPostings() {
+        return interestPostings;
+    }
+
+    public int getFeePostings() {
+        return feePostings;
+    }
+
+    public int getSkipped() {
+        return skipped;
+    }
+
+    public int getAlreadyAccrued() {
+        return alreadyAccrued;
+    }
+
+    public double getTotalInterest() {
+        return totalInterest;
+    }
+
+    public double getTotalFees() {
+        return totalFees;
+    }
+
+    public long getComputeMillis() {
+        return computeMillis;
+    }
+
+    public long getPostMillis() {
+        return postMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "AccrualRun{" +
+                "accountsScanned=" + accountsScanned +
+                ", interestPostings=" + interestPostings +
+                ", feePostings=" + feePostings +
+                ", skipped=" + skipped +
+                ", alreadyAccrued=" + alreadyAccrued +
+                ", totalInterest=" + totalInterest +
+                ", totalFees=" + totalFees +
+                ", computeMillis=" + computeMillis +
+                ", postMillis=" + postMillis +
+                '}';
+    }
+}
@@ -0,0 +1,194 @@
+package services;
+
+import exceptions.FileReadException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class BalanceSnapshotStore {
+    private final String fileName;
+    private final Map<String, Series> series = new HashMap<>();
+    private final Set<Long> recordedDays = new HashSet<>();
+    private LocalDate latestDate;
+
+    public BalanceSnapshotStore(String fileName) throws FileReadException {
+        this.fileName = fileName;
+        if (fileName != null) {
+            load();
+        }
+    }
+
+    public static BalanceSnapshotStore inMemory() {
+        try {
+            return new BalanceSnapshotStore(null);
+        } catch (FileReadException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public synchronized LocalDate getLatestDate() {
+        return latestDate;
+    }
+
+    public synchronized void record(LocalDate date, Map<String, Double> closingBalances) throws FileReadException {
+        if (recordedDays.contains(date.toEpochDay())) {
+            replace(date, closingBalances);
+            return;
+        }
+        if (fileName != null) {
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(fileName, true), StandardCharsets.UTF_8))) {
+                for (Map.Entry<String, Double> balance : closingBalances.entrySet()) {
+                    writer.write(date + "," + balance.getKey() + "," + balance.getValue());
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                throw new FileReadException("Error while writing balance snapshots " + fileName + e.getMessage(), e);
+            }
+        }
+        for (Map.Entry<String, Double> balance : closingBalances.entrySet()) {
+            put(balance.getKey(), date, balance.getValue());
+        }
+    }
+
+    private void replace(LocalDate date, Map<String, Double> closingBalances) throws FileReadException {
+        long day = date.toEpochDay();
+        for (Series accountSeries : series.values()) {
+            accountSeries.remove(day);
+        }
+        for (Map.Entry<String, Double> balance : closingBalances.entrySet()) {
+            put(balance.getKey(), date, balance.getValue());
+        }
+        if (fileName != null) {
+            rewrite();
+        }
+    }
+
+    private void rewrite() throws FileReadException {
+        Map<Long, Map<String, Double>> byDay = new TreeMap<>();
+        for (Map.Entry<String, Series> accountSeries : series.entrySet()) {
+            Series values = accountSeries.getValue();
+            for (int i = 0; i < values.size; i++) {
+                byDay.computeIfAbsent(values.days[i], day -> new TreeMap<>())
+                        .put(accountSeries.getKey(), values.balances[i]);
+            }
+        }
+        File target = new File(fileName);
+        File temporary = new File(fileName + ".tmp");
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(temporary), StandardCharsets.UTF_8))) {
+            for (Map.Entry<Long, Map<String, Double>> day : byDay.entrySet()) {
+                LocalDate date = LocalDate.ofEpochDay(day.getKey());
+                for (Map.Entry<String, Double> balance : day.getValue().entrySet()) {
+                    writer.write(date + "," + balance.getKey() + "," + balance.getValue());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while writing balance snapshots " + fileName + e.getMessage(), e);
+        }
+        try {
+            Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new FileReadException("Error while replacing balance snapshots " + fileName + e.getMessage(), e);
+        }
+    }
+
+    public synchronized Map.Entry<LocalDate, Double> floor(String accountId, LocalDate date) {
+        Series accountSeries = series.get(accountId);
+        if (accountSeries == null) return null;
+        int index = accountSeries.floorIndex(date.toEpochDay());
+        return index < 0 ? null : accountSeries.entry(index);
+    }
+
+    public synchronized Map.Entry<LocalDate, Double> ceiling(String accountId, LocalDate date) {
+        Series accountSeries = series.get(accountId);
+        if (accountSeries == null) return null;
+        int index = accountSeries.floorIndex(date.toEpochDay());
+        if (index >= 0 && accountSeries.days[index] == date.toEpochDay()) {
+            return accountSeries.entry(index);
+        }
+        return index + 1 < accountSeries.size ? accountSeries.entry(index + 1) : null;
+    }
+
+    private void put(String accountId, LocalDate date, double balance) {
+        series.computeIfAbsent(accountId, id -> new Series()).put(date.toEpochDay(), balance);
+        recordedDays.add(date.toEpochDay());
+        if (latestDate == null || date.isAfter(latestDate)) {
+            latestDate = date;
+        }
+    }
+
+    private void load() throws FileReadException {
+        File file = new File(fileName);
+        if (!file.exists()) return;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] data = line.split(",");
+                if (data.length < 3) continue;
+                try {
+                    put(data[1], LocalDate.parse(data[0]), Double.parseDouble(data[2]));
+                } catch (DateTimeParseException | NumberFormatException e) {
+                    System.err.println("Skipping balance snapshot line: " + line);
+                }
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while reading balance snapshots " + fileName + e.getMessage(), e);
+        }
+    }
+
+    private static final class Series {
+        private long[] days = new long[8];
+        private double[] balances = new double[8];
+        private int size;
+
+        private void put(long day, double balance) {
+            int index = floorIndex(day);
+            if (index >= 0 && days[index] == day) {
+                balances[index] = balance;
+                return;
+            }
+            if (size == days.length) {
+                days = Arrays.copyOf(days, size * 2);
+                balances = Arrays.copyOf(balances, size * 2);
+            }
+            int position = index + 1;
+            System.arraycopy(days, position, days, position + 1, size - position);
+            System.arraycopy(balances, position, balances, position + 1, size - position);
+            days[position] = day;
+            balances[position] = balance;
+            size++;
+        }
+
+        private void remove(long day) {
+            int index = floorIndex(day);
+            if (index < 0 || days[index] != day) return;
+            System.arraycopy(days, index + 1, days, index, size - index - 1);
+            System.arraycopy(balances, index + 1, balances, index, size - index - 1);
+            size--;
+        }
+
+        private int floorIndex(long day) {
+            int index = Arrays.binarySearch(days, 0, size, day);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private Map.Entry<LocalDate, Double> entry(int index) {
+            return Map.entry(LocalDate.ofEpochDay(days[index]), balances[index]);
+        }
+    }
+}
@@ -10,24 +10,31 @@ import java.util.List;
 
 public class CustomerCSVHandler implements IFileHandler<Customer> {
     private final String fileName;
+    private final StorageMetrics metrics;
     public CustomerCSVHandler(String fileName) {
         this.fileName = fileName;
+        metrics = new StorageMetrics(fileName);
     }
 
     @Override
     public void saveData(List<Customer> customers) throws FileReadException {
+        FileIoEvent event = metrics.begin();
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
             for (Customer customer : customers) {
-                writer.write(String.join(",", customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone()));
+                writer.write(String.join(",", customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone(),
+                        String.valueOf(customer.getVersion())));
                 writer.newLine();
             }
         } catch (Exception e) {
             throw  new FileReadException("Error while saving data " + e.getMessage());
+        } finally {
+            metrics.recordSave(event, customers.size());
         }
     }
 
     @Override
     public List<Customer> loadData() throws FileReadException, InvalidDataException {
+        FileIoEvent event = metrics.begin();
         List<Customer> customers = new ArrayList<>();
         File file = new File(fileName);
         if (!file.exists()) return customers;
@@ -40,10 +47,15 @@ public class CustomerCSVHandler implements IFileHandler<Customer> {
 
                 Customer customer = new Customer(data[1], data[2], data[3]);
                 customer.setId(data[0]);
+                if (data.length > 4) {
+                    customer.setVersion(Long.parseLong(data[4]));
+                }
                 customers.add(customer);
             }
         } catch (Exception e) {
             throw new FileReadException("Error while loading data " + e.getMessage());
+        } finally {
+            metrics.recordLoad(event, customers.size());
         }
         return customers;
     }
@@ -0,0 +1,45 @@
+package services;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.io.File;
+
+@Name("bankingsystem.FileIo")
+@Label("Data File I/O")
+@Category({"Banking System", "Persistence"})
+@Description("One loadData or saveData call of a data file handler")
+@StackTrace(false)
+final class FileIoEvent extends jdk.jfr.Event {
+    static final String LOAD = "load";
+    static final String SAVE = "save";
+
+    @Label("File")
+    String file;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    transient long startNanos;
+
+    void complete(String fileName, String operation, int rows) {
+        end();
+        if (!shouldCommit()) return;
+        this.file = fileName;
+        this.operation = operation;
+        this.rows = rows;
+        this.bytes = new File(fileName).length();
+        commit();
+    }
+}
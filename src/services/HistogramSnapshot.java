@@ -0,0 +1,83 @@
+package services;
+
+public final class HistogramSnapshot {
+    private final String name;
+    private final long[] bucketCounts;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+
+    HistogramSnapshot(String name, long[] bucketCounts, long count, long totalNanos, long maxNanos, long p50Nanos,
+                      long p90Nanos, long p99Nanos, long p999Nanos) {
+        this.name = name;
+        this.bucketCounts = bucketCounts;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public double getMeanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos() {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public HistogramSnapshot since(HistogramSnapshot earlier) {
+        if (earlier == null) return this;
+        long[] delta = new long[bucketCounts.length];
+        long intervalMax = 0;
+        for (int i = 0; i < delta.length; i++) {
+            delta[i] = bucketCounts[i] - earlier.bucketCounts[i];
+            if (delta[i] > 0) {
+                intervalMax = LatencyHistogram.upperBoundOf(i);
+            }
+        }
+        return LatencyHistogram.summarize(name, delta, totalNanos - earlier.totalNanos,
+                Math.min(maxNanos, intervalMax));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s count=%d mean_us=%.1f p50_us=%.1f p90_us=%.1f p99_us=%.1f p999_us=%.1f max_us=%.1f",
+                name, count, getMeanNanos() / 1_000.0, p50Nanos / 1_000.0, p90Nanos / 1_000.0,
+                p99Nanos / 1_000.0, p999Nanos / 1_000.0, maxNanos / 1_000.0);
+    }
+}
@@ -0,0 +1,80 @@
+package services;
+
+import model.Transaction;
+
+public final class LedgerEvent {
+    public enum Type {
+        CUSTOMER_ADDED,
+        CUSTOMER_UPDATED,
+        CUSTOMER_REMOVED,
+        ACCOUNT_ADDED,
+        ACCOUNT_REMOVED,
+        BALANCE_CHANGED,
+        TRANSACTION_POSTED,
+        VELOCITY_LIMIT_HIT
+    }
+
+    private final Type type;
+    private final String entityId;
+    private final int snapshotIndex;
+    private final LedgerSnapshot snapshot;
+    private final Transaction transaction;
+    private final String detail;
+
+    LedgerEvent(Type type, String entityId, int snapshotIndex, LedgerSnapshot snapshot, Transaction transaction) {
+        this(type, entityId, snapshotIndex, snapshot, transaction, null);
+    }
+
+    LedgerEvent(Type type, String entityId, int snapshotIndex, LedgerSnapshot snapshot, Transaction transaction,
+                String detail) {
+        this.type = type;
+        this.entityId = entityId;
+        this.snapshotIndex = snapshotIndex;
+        this.snapshot = snapshot;
+        this.transaction = transaction;
+        this.detail = detail;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public int getSnapshotIndex() {
+        return snapshotIndex;
+    }
+
+    public LedgerSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    public boolean involvesAccount(String accountId) {
+        if (accountId == null) return false;
+        if (transaction != null) {
+            return accountId.equals(transaction.getSendingAccountId())
+                    || accountId.equals(transaction.getReceivingAccountId());
+        }
+        return accountId.equals(entityId);
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerEvent{" +
+                "type=" + type +
+                ", entityId='" + entityId + '\'' +
+                ", snapshotIndex=" + snapshotIndex +
+                ", version=" + snapshot.getVersion() +
+                '}';
+    }
+}
@@ -0,0 +1,32 @@
+package services;
+
+import interfaces.ILedgerListener;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class LedgerEventBus {
+    private final List<ILedgerListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void subscribe(ILedgerListener listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(ILedgerListener listener) {
+        listeners.remove(listener);
+    }
+
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    void publish(LedgerEvent event) {
+        for (ILedgerListener listener : listeners) {
+            try {
+                listener.onLedgerEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("Ledger listener failed on " + event + ": " + e.getMessage());
+            }
+        }
+    }
+}
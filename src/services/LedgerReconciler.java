@@ -0,0 +1,200 @@
+package services;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+import model.Account;
+import model.Transaction;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LedgerReconciler {
+    private static final int BATCH_LINES = 16_384;
+
+    private final int threads;
+    private final int partitionCount;
+
+    public LedgerReconciler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public LedgerReconciler(int threads) {
+        this.threads = Math.max(1, threads);
+        this.partitionCount = this.threads * 4;
+    }
+
+    public ReconciliationReport reconcile(String transactionsFile, String accountsFile)
+            throws FileReadException, InvalidDataException {
+        long start = System.nanoTime();
+        List<Account> accounts = new AccountCSVHandler(accountsFile).loadData();
+
+        List<Map<String, long[]>> partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new HashMap<>());
+        }
+        Set<String> seenIds = ConcurrentHashMap.newKeySet();
+        LongAdder rows = new LongAdder();
+        LongAdder duplicates = new LongAdder();
+        LongAdder malformed = new LongAdder();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "reconcile-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Semaphore inFlight = new Semaphore(threads * 2);
+        List<Future<?>> batches = new ArrayList<>();
+        File file = new File(transactionsFile);
+        try {
+            if (file.exists()) {
+                try (BufferedReader reader = new BufferedReader(new FileReader(file), 1 << 16)) {
+                    List<String> batch = new ArrayList<>(BATCH_LINES);
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        batch.add(line);
+                        if (batch.size() == BATCH_LINES) {
+                            batches.add(submit(executor, inFlight, batch, partitions, seenIds, rows, duplicates, malformed));
+                            batch = new ArrayList<>(BATCH_LINES);
+                        }
+                    }
+                    if (!batch.isEmpty()) {
+                        batches.add(submit(executor, inFlight, batch, partitions, seenIds, rows, duplicates, malformed));
+                    }
+                }
+            }
+            for (Future<?> batch : batches) {
+                batch.get();
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while reading file " + transactionsFile + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileReadException("Reconciliation interrupted");
+        } catch (ExecutionException e) {
+            throw new InvalidDataException("Error while reconciling " + transactionsFile + ": " + e.getCause().getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<ReconciliationReport.Discrepancy> discrepancies = new ArrayList<>();
+        for (Account account : accounts) {
+            long[] net = partitions.get(partitionOf(account.getId())).remove(account.getId());
+            long computedCents = net == null ? 0 : net[0];
+            long storedCents = toCents(account.getBalance());
+            if (storedCents != computedCents) {
+                discrepancies.add(new ReconciliationReport.Discrepancy(account.getId(), account.getAccountNum(),
+                        storedCents, computedCents));
+            }
+        }
+        List<ReconciliationReport.Discrepancy> orphans = new ArrayList<>();
+        for (Map<String, long[]> partition : partitions) {
+            for (Map.Entry<String, long[]> entry : partition.entrySet()) {
+                if (entry.getValue()[0] == 0) continue;
+                orphans.add(new ReconciliationReport.Discrepancy(entry.getKey(), null, 0, entry.getValue()[0]));
+            }
+        }
+        return new ReconciliationReport(accounts.size(), rows.sum(), duplicates.sum(), malformed.sum(),
+                discrepancies, orphans, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Future<?> submit(ExecutorService executor, Semaphore inFlight, List<String> batch,
+                             List<Map<String, long[]>> partitions, Set<String> seenIds,
+                             LongAdder rows, LongAdder duplicates, LongAdder malformed) throws InterruptedException {
+        inFlight.acquire();
+        return executor.submit(() -> {
+            try {
+                processBatch(batch, partitions, seenIds, rows, duplicates, malformed);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    private void processBatch(List<String> batch, List<Map<String, long[]>> partitions, Set<String> seenIds,
+                              LongAdder rows, LongAdder duplicates, LongAdder malformed) {
+        List<Map<String, long[]>> local = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            local.add(null);
+        }
+
+        for (String line : batch) {
+            if (line.startsWith("#")) continue;
+            String[] parts = line.split(",", -1);
+            if (parts.length < 7) {
+                malformed.increment();
+                continue;
+            }
+            long cents;
+            try {
+                cents = toCents(Double.parseDouble(parts[3]));
+            } catch (NumberFormatException e) {
+                malformed.increment();
+                continue;
+            }
+            if (!seenIds.add(parts[0])) {
+                duplicates.increment();
+                continue;
+            }
+            rows.increment();
+
+            String type = parts[2];
+            String sendingAccountId = parts[4];
+            String receivingAccountId = parts[5];
+            boolean sameAccount = sendingAccountId.equals(receivingAccountId);
+            if (!sendingAccountId.isEmpty()) {
+                accumulate(local, sendingAccountId, cents * Transaction.balanceDirection(type, true, sameAccount));
+            }
+            if (!receivingAccountId.isEmpty() && !sameAccount) {
+                accumulate(local, receivingAccountId, cents * Transaction.balanceDirection(type, false, true));
+            }
+        }
+
+        for (int i = 0; i < partitionCount; i++) {
+            Map<String, long[]> localPartition = local.get(i);
+            if (localPartition == null) continue;
+            Map<String, long[]> partition = partitions.get(i);
+            synchronized (partition) {
+                for (Map.Entry<String, long[]> entry : localPartition.entrySet()) {
+                    long[] total = partition.get(entry.getKey());
+                    if (total == null) {
+                        partition.put(entry.getKey(), entry.getValue());
+                    } else {
+                        total[0] += entry.getValue()[0];
+                    }
+                }
+            }
+        }
+    }
+
+    private void accumulate(List<Map<String, long[]>> local, String accountId, long cents) {
+        int index = partitionOf(accountId);
+        Map<String, long[]> partition = local.get(index);
+        if (partition == null) {
+            partition = new HashMap<>();
+            local.set(index, partition);
+        }
+        partition.computeIfAbsent(accountId, id -> new long[1])[0] += cents;
+    }
+
+    private int partitionOf(String accountId) {
+        return (accountId.hashCode() & 0x7fffffff) % partitionCount;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100.0);
+    }
+}
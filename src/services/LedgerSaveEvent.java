@@ -0,0 +1,34 @@
+package services;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bankingsystem.LedgerSave")
+@Label("Ledger Save")
+@Category({"Banking System", "Persistence"})
+@Description("A full rewrite of the customer, transaction and account files")
+final class LedgerSaveEvent extends jdk.jfr.Event {
+    @Label("Customers")
+    int customers;
+
+    @Label("Accounts")
+    int accounts;
+
+    @Label("Transactions")
+    int transactions;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    void complete(int customers, int accounts, int transactions, boolean succeeded) {
+        end();
+        if (!shouldCommit()) return;
+        this.customers = customers;
+        this.accounts = accounts;
+        this.transactions = transactions;
+        this.succeeded = succeeded;
+        commit();
+    }
+}
@@ -0,0 +1,60 @@
+package services;
+
+import model.AccountView;
+import model.CustomerView;
+
+import java.util.List;
+
+public final class LedgerSnapshot {
+    static final LedgerSnapshot EMPTY = new LedgerSnapshot(0, PersistentVector.empty(), PersistentVector.empty(), LedgerTotals.EMPTY);
+
+    private final long version;
+    private final PersistentVector<CustomerView> customers;
+    private final PersistentVector<AccountView> accounts;
+    private final LedgerTotals totals;
+
+    LedgerSnapshot(long version, PersistentVector<CustomerView> customers, PersistentVector<AccountView> accounts,
+                   LedgerTotals totals) {
+        this.version = version;
+        this.customers = customers;
+        this.accounts = accounts;
+        this.totals = totals;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<CustomerView> getCustomers() {
+        return customers;
+    }
+
+    public List<AccountView> getAccounts() {
+        return accounts;
+    }
+
+    public int getCustomerCount() {
+        return customers.size();
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    public LedgerTotals getTotals() {
+        return totals;
+    }
+
+    PersistentVector<CustomerView> customerVector() {
+        return customers;
+    }
+
+    PersistentVector<AccountView> accountVector() {
+        return accounts;
+    }
+
+    LedgerSnapshot with(PersistentVector<CustomerView> customers, PersistentVector<AccountView> accounts,
+                        LedgerTotals totals) {
+        return new LedgerSnapshot(version + 1, customers, accounts, totals);
+    }
+}
@@ -0,0 +1,80 @@
+package services;
+
+import model.Transaction;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+public final class LedgerTotals {
+    static final LedgerTotals EMPTY = new LedgerTotals(0.0, LocalDate.MIN, 0.0, 0.0, 0);
+
+    private final double totalBalance;
+    private final LocalDate day;
+    private final double dayInflow;
+    private final double dayOutflow;
+    private final int dayPostings;
+
+    LedgerTotals(double totalBalance, LocalDate day, double dayInflow, double dayOutflow, int dayPostings) {
+        this.totalBalance = totalBalance;
+        this.day = day;
+        this.dayInflow = dayInflow;
+        this.dayOutflow = dayOutflow;
+        this.dayPostings = dayPostings;
+    }
+
+    public double getTotalBalance() {
+        return totalBalance;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public double getInflowOn(LocalDate date) {
+        return date.equals(day) ? dayInflow : 0.0;
+    }
+
+    public double getOutflowOn(LocalDate date) {
+        return date.equals(day) ? dayOutflow : 0.0;
+    }
+
+    public int getPostingsOn(LocalDate date) {
+        return date.equals(day) ? dayPostings : 0;
+    }
+
+    LedgerTotals withTotalBalance(double balance) {
+        return new LedgerTotals(balance, day, dayInflow, dayOutflow, dayPostings);
+    }
+
+    LedgerTotals withBalanceChange(double delta) {
+        return delta == 0.0 ? this : withTotalBalance(totalBalance + delta);
+    }
+
+    LedgerTotals withPosting(Transaction transaction) {
+        LocalDate postedOn = Instant.ofEpochMilli(transaction.getTimeMillis()).atZone(ZoneId.systemDefault()).toLocalDate();
+        if (postedOn.isBefore(day)) return this;
+        boolean sameDay = postedOn.equals(day);
+        double inflow = sameDay ? dayInflow : 0.0;
+        double outflow = sameDay ? dayOutflow : 0.0;
+        int postings = sameDay ? dayPostings : 0;
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT, INTEREST -> inflow += transaction.getAmount();
+            case WITHDRAWAL, FEE -> outflow += transaction.getAmount();
+            case TRANSFER -> {
+            }
+        }
+        return new LedgerTotals(totalBalance, postedOn, inflow, outflow, postings + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "LedgerTotals{" +
+                "totalBalance=" + totalBalance +
+                ", day=" + day +
+                ", inflow=" + dayInflow +
+                ", outflow=" + dayOutflow +
+                ", postings=" + dayPostings +
+                '}';
+    }
+}
@@ -0,0 +1,106 @@
+package services;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class MetricsRegistry {
+    private static final MetricsRegistry GLOBAL = new MetricsRegistry();
+
+    private final ConcurrentHashMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> gauges = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumper;
+
+    public static MetricsRegistry global() {
+        return GLOBAL;
+    }
+
+    public LongAdder counter(String name) {
+        LongAdder counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        return histogram != null ? histogram : histograms.computeIfAbsent(name, LatencyHistogram::new);
+    }
+
+    public AtomicLong gauge(String name) {
+        AtomicLong gauge = gauges.get(name);
+        return gauge != null ? gauge : gauges.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+    public void increment(String name) {
+        counter(name).increment();
+    }
+
+    public long recordSince(String name, long startNanos) {
+        return histogram(name).recordSince(startNanos);
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        counters.forEach((name, counter) -> counterValues.put(name, counter.sum()));
+        Map<String, HistogramSnapshot> histogramValues = new TreeMap<>();
+        histograms.forEach((name, histogram) -> histogramValues.put(name, histogram.snapshot()));
+        Map<String, Long> gaugeValues = new TreeMap<>();
+        gauges.forEach((name, gauge) -> gaugeValues.put(name, gauge.get()));
+        return new MetricsSnapshot(System.currentTimeMillis(), counterValues, histogramValues, gaugeValues);
+    }
+
+    public synchronized void startDumping(String fileName, long intervalSeconds) {
+        if (dumper != null || intervalSeconds <= 0) return;
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> dump(fileName), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(fileName), "metrics-final-dump"));
+    }
+
+    public synchronized void stopDumping() {
+        if (dumper == null) return;
+        dumper.shutdownNow();
+        dumper = null;
+    }
+
+    public void dump(String fileName) {
+        MetricsSnapshot snapshot = snapshot();
+        if (snapshot.getCounters().isEmpty() && snapshot.getHistograms().isEmpty() && snapshot.getGauges().isEmpty()) return;
+        String timestamp = Instant.ofEpochMilli(snapshot.getTimestamp()).toString();
+        synchronized (this) {
+            try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(fileName, true), StandardCharsets.UTF_8))) {
+                for (HistogramSnapshot histogram : new TreeMap<>(snapshot.getHistograms()).values()) {
+                    if (histogram.getCount() == 0) continue;
+                    writer.write(timestamp + " " + histogram);
+                    writer.newLine();
+                }
+                for (Map.Entry<String, Long> counter : new TreeMap<>(snapshot.getCounters()).entrySet()) {
+                    if (counter.getValue() == 0) continue;
+                    writer.write(timestamp + " " + counter.getKey() + " count=" + counter.getValue());
+                    writer.newLine();
+                }
+                for (Map.Entry<String, Long> gauge : snapshot.getGauges().entrySet()) {
+                    writer.write(timestamp + " " + gauge.getKey() + " value=" + gauge.getValue());
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                System.err.println("Error writing metrics to " + fileName + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package services;
+
+import java.util.Map;
+
+public final class MetricsSnapshot {
+    private final long timestamp;
+    private final Map<String, Long> counters;
+    private final Map<String, HistogramSnapshot> histograms;
+    private final Map<String, Long> gauges;
+
+    MetricsSnapshot(long timestamp, Map<String, Long> counters, Map<String, HistogramSnapshot> histograms,
+                    Map<String, Long> gauges) {
+        this.timestamp = timestamp;
+        this.counters = Map.copyOf(counters);
+        this.histograms = Map.copyOf(histograms);
+        this.gauges = Map.copyOf(gauges);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Map<String, Long> getCounters() {
+        return counters;
+    }
+
+    public long getCounter(String name) {
+        return counters.getOrDefault(name, 0L);
+    }
+
+    public Map<String, HistogramSnapshot> getHistograms() {
+        return histograms;
+    }
+
+    public HistogramSnapshot getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    public Map<String, Long> getGauges() {
+        return gauges;
+    }
+
+    public long getGauge(String name) {
+        return gauges.getOrDefault(name, 0L);
+    }
+}
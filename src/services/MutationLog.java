@@ -0,0 +1,81 @@
+package services;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class MutationLog {
+    private final String fileName;
+    private long lastSequence;
+
+    public MutationLog(String fileName) throws FileReadException {
+        this.fileName = fileName;
+        this.lastSequence = readLastSequence();
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized boolean isEmpty() {
+        return lastSequence == 0;
+    }
+
+    public synchronized MutationLogEntry append(MutationLogEntry.Operation operation, String... fields) throws FileReadException {
+        MutationLogEntry entry = new MutationLogEntry(lastSequence + 1, System.currentTimeMillis(), operation, fields);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(fileName, true), StandardCharsets.UTF_8))) {
+            writer.write(entry.toLine());
+            writer.newLine();
+        } catch (IOException e) {
+            throw new FileReadException("Error while appending to mutation log " + fileName + e.getMessage(), e);
+        }
+        lastSequence = entry.getSequence();
+        return entry;
+    }
+
+    public synchronized void appendAll(MutationLogEntry.Operation operation, List<String[]> entries) throws FileReadException {
+        if (entries.isEmpty()) return;
+        long sequence = lastSequence;
+        long timestamp = System.currentTimeMillis();
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(fileName, true), StandardCharsets.UTF_8))) {
+            for (String[] fields : entries) {
+                writer.write(new MutationLogEntry(++sequence, timestamp, operation, fields).toLine());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while appending to mutation log " + fileName + e.getMessage(), e);
+        }
+        lastSequence = sequence;
+    }
+
+    private long readLastSequence() throws FileReadException {
+        File file = new File(fileName);
+        if (!file.exists()) return 0;
+
+        long sequence = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                try {
+                    sequence = MutationLogEntry.parse(line).getSequence();
+                } catch (InvalidDataException e) {
+                    System.err.println("Skipping mutation log entry: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while reading mutation log " + fileName + e.getMessage(), e);
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,82 @@
+package services;
+
+import exceptions.InvalidDataException;
+
+import java.util.Arrays;
+
+public class MutationLogEntry {
+    public enum Operation {
+        CUSTOMER_ADDED,
+        CUSTOMER_UPDATED,
+        CUSTOMER_DELETED,
+        ACCOUNT_ADDED,
+        ACCOUNT_DELETED,
+        TRANSACTION_POSTED,
+        TRANSACTION_RESTORED
+    }
+
+    private final long sequence;
+    private final long timestamp;
+    private final Operation operation;
+    private final String[] fields;
+
+    public MutationLogEntry(long sequence, long timestamp, Operation operation, String[] fields) {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.operation = operation;
+        this.fields = fields;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public String getField(int index) {
+        if (index >= fields.length || fields[index].isEmpty()) {
+            return null;
+        }
+        return fields[index];
+    }
+
+    public String toLine() {
+        StringBuilder line = new StringBuilder();
+        line.append(sequence).append(',').append(timestamp).append(',').append(operation.name());
+        for (String field : fields) {
+            line.append(',').append(field == null ? "" : field);
+        }
+        return line.toString();
+    }
+
+    public static MutationLogEntry parse(String line) throws InvalidDataException {
+        String[] parts = line.split(",", -1);
+        if (parts.length < 3) {
+            throw new InvalidDataException("Malformed mutation log entry: " + line);
+        }
+        try {
+            long sequence = Long.parseLong(parts[0]);
+            long timestamp = Long.parseLong(parts[1]);
+            Operation operation = Operation.valueOf(parts[2]);
+            return new MutationLogEntry(sequence, timestamp, operation, Arrays.copyOfRange(parts, 3, parts.length));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Malformed mutation log entry: " + line);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MutationLogEntry{" +
+                "sequence=" + sequence +
+                ", timestamp=" + timestamp +
+                ", operation=" + operation +
+                ", fields=" + Arrays.toString(fields) +
+                '}';
+    }
+}
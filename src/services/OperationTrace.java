@@ -0,0 +1,159 @@
+package services;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+public final class OperationTrace {
+    public enum Phase {
+        LOCK_WAIT("lock_wait"),
+        VALIDATION("validation"),
+        LOOKUP("lookup"),
+        MUTATION("mutation"),
+        PERSISTENCE("persistence"),
+        EVENTS("events"),
+        UI_REFRESH("ui_refresh");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private static final int MAX_FILES = 8;
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<OperationTrace> CURRENT = ThreadLocal.withInitial(OperationTrace::new);
+    private static volatile long thresholdNanos = toThresholdNanos(Long.getLong("trace.threshold.ms", 500));
+
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final String[] files = new String[MAX_FILES];
+    private final long[] fileNanos = new long[MAX_FILES];
+    private String operation;
+    private int fileCount;
+    private int depth;
+    private long startNanos;
+    private long lastMarkNanos;
+
+    private OperationTrace() {
+    }
+
+    public static OperationTrace begin(String operation) {
+        OperationTrace trace = CURRENT.get();
+        if (trace.depth++ == 0) {
+            trace.operation = operation;
+            trace.fileCount = 0;
+            Arrays.fill(trace.phaseNanos, 0);
+            trace.startNanos = System.nanoTime();
+            trace.lastMarkNanos = trace.startNanos;
+        }
+        return trace;
+    }
+
+    public static OperationTrace current() {
+        return CURRENT.get();
+    }
+
+    public static long getThresholdMillis() {
+        long threshold = thresholdNanos;
+        return threshold < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(threshold);
+    }
+
+    public static void setThresholdMillis(long thresholdMillis) {
+        thresholdNanos = toThresholdNanos(thresholdMillis);
+    }
+
+    private static long toThresholdNanos(long thresholdMillis) {
+        return thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    public void mark(Phase phase) {
+        if (depth == 0) return;
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] += now - lastMarkNanos;
+        lastMarkNanos = now;
+    }
+
+    public void markFile(String file) {
+        if (depth == 0) return;
+        long now = System.nanoTime();
+        long elapsed = now - lastMarkNanos;
+        phaseNanos[Phase.PERSISTENCE.ordinal()] += elapsed;
+        lastMarkNanos = now;
+        for (int i = 0; i < fileCount; i++) {
+            if (files[i].equals(file)) {
+                fileNanos[i] += elapsed;
+                return;
+            }
+        }
+        if (fileCount < MAX_FILES) {
+            files[fileCount] = file;
+            fileNanos[fileCount++] = elapsed;
+        }
+    }
+
+    public void end(boolean succeeded) {
+        if (depth == 0 || --depth > 0) return;
+        long totalNanos = System.nanoTime() - startNanos;
+        long threshold = thresholdNanos;
+        if (threshold < 0 || totalNanos < threshold) return;
+        SlowOperationLog.global().submit(new SlowOperation(System.currentTimeMillis(), operation,
+                Thread.currentThread().getName(), succeeded, totalNanos, phaseNanos.clone(),
+                Arrays.copyOf(files, fileCount), Arrays.copyOf(fileNanos, fileCount)));
+    }
+
+    static final class SlowOperation {
+        private final long timestamp;
+        private final String operation;
+        private final String thread;
+        private final boolean succeeded;
+        private final long totalNanos;
+        private final long[] phaseNanos;
+        private final String[] files;
+        private final long[] fileNanos;
+
+        private SlowOperation(long timestamp, String operation, String thread, boolean succeeded, long totalNanos,
+                              long[] phaseNanos, String[] files, long[] fileNanos) {
+            this.timestamp = timestamp;
+            this.operation = operation;
+            this.thread = thread;
+            this.succeeded = succeeded;
+            this.totalNanos = totalNanos;
+            this.phaseNanos = phaseNanos;
+            this.files = files;
+            this.fileNanos = fileNanos;
+        }
+
+        void appendTo(StringBuilder line) {
+            line.append(java.time.Instant.ofEpochMilli(timestamp))
+                    .append(" op=").append(operation)
+                    .append(" outcome=").append(succeeded ? "ok" : "rejected")
+                    .append(" thread=\"").append(thread).append('"');
+            appendMillis(line, "total", totalNanos);
+            long traced = 0;
+            for (Phase phase : PHASES) {
+                long nanos = phaseNanos[phase.ordinal()];
+                traced += nanos;
+                if (nanos > 0) {
+                    appendMillis(line, phase.getLabel(), nanos);
+                }
+            }
+            for (int i = 0; i < files.length; i++) {
+                appendMillis(line, "persistence." + files[i], fileNanos[i]);
+            }
+            appendMillis(line, "other", Math.max(0, totalNanos - traced));
+        }
+
+        private static void appendMillis(StringBuilder line, String name, long nanos) {
+            long micros = nanos / 1_000;
+            line.append(' ').append(name).append("_ms=").append(micros / 1_000).append('.');
+            long fraction = micros % 1_000;
+            if (fraction < 100) line.append('0');
+            if (fraction < 10) line.append('0');
+            line.append(fraction);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package services;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+public final class PersistentVector<T> extends AbstractList<T> implements RandomAccess {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, new Object[WIDTH]);
+
+    private final int size;
+    private final int shift;
+    private final Object[] root;
+
+    private PersistentVector(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    public static <T> PersistentVector<T> of(Iterable<T> items) {
+        PersistentVector<T> vector = empty();
+        for (T item : items) {
+            vector = vector.plus(item);
+        }
+        return vector;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    public PersistentVector<T> with(int index, T item) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new PersistentVector<>(size, shift, assoc(root, shift, index, item));
+    }
+
+    public PersistentVector<T> plus(T item) {
+        int capacity = 1 << (shift + BITS);
+        if (size < capacity) {
+            return new PersistentVector<>(size + 1, shift, assoc(root, shift, size, item));
+        }
+        Object[] newRoot = new Object[WIDTH];
+        newRoot[0] = root;
+        int newShift = shift + BITS;
+        return new PersistentVector<>(size + 1, newShift, assoc(newRoot, newShift, size, item));
+    }
+
+    private static Object[] assoc(Object[] node, int level, int index, Object item) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        if (level == 0) {
+            copy[index & MASK] = item;
+        } else {
+            int slot = (index >>> level) & MASK;
+            copy[slot] = assoc((Object[]) copy[slot], level - BITS, index, item);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,38 @@
+package services;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("bankingsystem.Posting")
+@Label("Posting")
+@Category({"Banking System", "Postings"})
+@Description("A deposit, withdrawal or transfer, including time spent waiting for the ledger lock")
+final class PostingEvent extends jdk.jfr.Event {
+    @Label("Type")
+    String type;
+
+    @Label("Account Id")
+    String accountId;
+
+    @Label("Counterparty Account Id")
+    String counterpartyAccountId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Posted")
+    boolean posted;
+
+    void complete(String type, String accountId, String counterpartyAccountId, double amount, boolean posted) {
+        end();
+        if (!shouldCommit()) return;
+        this.type = type;
+        this.accountId = accountId;
+        this.counterpartyAccountId = counterpartyAccountId;
+        this.amount = amount;
+        this.posted = posted;
+        commit();
+    }
+}
@@ -0,0 +1,60 @@
+package services;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ProductCatalog {
+    private final Map<String, ProductTerms> terms = new HashMap<>();
+
+    public static ProductCatalog defaults() {
+        ProductCatalog catalog = new ProductCatalog();
+        catalog.add(new ProductTerms("Savings", 3.5, 0.0, 0.0));
+        catalog.add(new ProductTerms("Checking", 0.5, 5.0, 1000.0));
+        catalog.add(new ProductTerms("Money Market", 4.5, 10.0, 2500.0));
+        catalog.add(new ProductTerms("Fixed Deposit", 6.0, 0.0, 0.0));
+        return catalog;
+    }
+
+    public static ProductCatalog load(String fileName) throws FileReadException, InvalidDataException {
+        File file = new File(fileName);
+        if (!file.exists()) return defaults();
+
+        ProductCatalog catalog = new ProductCatalog();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] data = line.split(",");
+                if (data.length < 4) {
+                    throw new InvalidDataException("Invalid product terms at line " + lineNumber + " of " + fileName);
+                }
+                try {
+                    catalog.add(new ProductTerms(data[0].trim(), Double.parseDouble(data[1].trim()),
+                            Double.parseDouble(data[2].trim()), Double.parseDouble(data[3].trim())));
+                } catch (NumberFormatException e) {
+                    throw new InvalidDataException("Invalid number at line " + lineNumber + " of " + fileName);
+                }
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while reading file " + fileName + e.getMessage(), e);
+        }
+        return catalog;
+    }
+
+    public void add(ProductTerms productTerms) {
+        terms.put(productTerms.getProductName().toLowerCase(), productTerms);
+    }
+
+    public ProductTerms find(String productName) {
+        return productName == null ? null : terms.get(productName.trim().toLowerCase());
+    }
+}
@@ -0,0 +1,55 @@
+package services;
+
+public final class ProductTerms {
+    private final String productName;
+    private final double annualInterestRate;
+    private final double monthlyFee;
+    private final double feeWaiverBalance;
+
+    public ProductTerms(String productName, double annualInterestRate, double monthlyFee, double feeWaiverBalance) {
+        this.productName = productName;
+        this.annualInterestRate = annualInterestRate;
+        this.monthlyFee = monthlyFee;
+        this.feeWaiverBalance = feeWaiverBalance;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public double getAnnualInterestRate() {
+        return annualInterestRate;
+    }
+
+    public double getMonthlyFee() {
+        return monthlyFee;
+    }
+
+    public double getFeeWaiverBalance() {
+        return feeWaiverBalance;
+    }
+
+    public double monthlyInterest(double balance) {
+        if (balance <= 0 || annualInterestRate <= 0) return 0.0;
+        return roundToCents(balance * annualInterestRate / 100.0 / 12.0);
+    }
+
+    public double monthlyFee(double balanceAfterInterest) {
+        if (monthlyFee <= 0 || balanceAfterInterest <= 0 || balanceAfterInterest >= feeWaiverBalance) return 0.0;
+        return roundToCents(Math.min(monthlyFee, balanceAfterInterest));
+    }
+
+    static double roundToCents(double amount) {
+        return Math.round(amount * 100.0) / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductTerms{" +
+                "productName='" + productName + '\'' +
+                ", annualInterestRate=" + annualInterestRate +
+                ", monthlyFee=" + monthlyFee +
+                ", feeWaiverBalance=" + feeWaiverBalance +
+                '}';
+    }
+}
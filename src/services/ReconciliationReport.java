@@ -0,0 +1,102 @@
+package services;
+
+import java.util.Comparator;
+import java.util.List;
+
+public final class ReconciliationReport {
+    public static final class Discrepancy {
+        private final String accountId;
+        private final String accountNumber;
+        private final long storedCents;
+        private final long computedCents;
+
+        Discrepancy(String accountId, String accountNumber, long storedCents, long computedCents) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.storedCents = storedCents;
+            this.computedCents = computedCents;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public long getStoredCents() {
+            return storedCents;
+        }
+
+        public long getComputedCents() {
+            return computedCents;
+        }
+
+        public long getDifferenceCents() {
+            return storedCents - computedCents;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s (%s): stored %.2f, from history %.2f, difference %.2f",
+                    accountNumber == null ? "missing from accounts file" : accountNumber, accountId,
+                    storedCents / 100.0, computedCents / 100.0, getDifferenceCents() / 100.0);
+        }
+    }
+
+    private final int accountsChecked;
+    private final long transactionRows;
+    private final long duplicateRows;
+    private final long malformedRows;
+    private final List<Discrepancy> discrepancies;
+    private final List<Discrepancy> orphanedAccounts;
+    private final long elapsedMillis;
+
+    ReconciliationReport(int accountsChecked, long transactionRows, long duplicateRows, long malformedRows,
+                         List<Discrepancy> discrepancies, List<Discrepancy> orphanedAccounts, long elapsedMillis) {
+        Comparator<Discrepancy> largestFirst =
+                Comparator.comparingLong((Discrepancy discrepancy) -> Math.abs(discrepancy.getDifferenceCents())).reversed();
+        discrepancies.sort(largestFirst);
+        orphanedAccounts.sort(largestFirst);
+        this.accountsChecked = accountsChecked;
+        this.transactionRows = transactionRows;
+        this.duplicateRows = duplicateRows;
+        this.malformedRows = malformedRows;
+        this.discrepancies = List.copyOf(discrepancies);
+        this.orphanedAccounts = List.copyOf(orphanedAccounts);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getAccountsChecked() {
+        return accountsChecked;
+    }
+
+    public long getTransactionRows() {
+        return transactionRows;
+    }
+
+    public long getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    public long getMalformedRows() {
+        return malformedRows;
+    }
+
+    public List<Discrepancy> getDiscrepancies() {
+        return discrepancies;
+    }
+
+    public List<Discrepancy> getOrphanedAccounts() {
+        return orphanedAccounts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public boolean isBalanced() {
+        return discrepancies.isEmpty() && orphanedAccounts.isEmpty();
+    }
+}
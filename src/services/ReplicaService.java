@@ -0,0 +1,165 @@
+package services;
+
+import exceptions.InvalidDataException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+
+public class ReplicaService {
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    private final String logFileName;
+    private final long pollIntervalMillis;
+    private final TransactionService standbyService;
+    private Thread tailThread;
+    private volatile boolean running;
+    private long position;
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+    private volatile long appliedSequence;
+    private volatile long lastEntryTimestamp;
+    private volatile long lastApplyLagMillis;
+    private volatile long pendingBytes;
+
+    public ReplicaService(String logFileName, long pollIntervalMillis) {
+        this.logFileName = logFileName;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.standbyService = new TransactionService(false);
+    }
+
+    public TransactionService getStandbyService() {
+        return standbyService;
+    }
+
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        tailThread = new Thread(this::tailLoop, "replica-tail");
+        tailThread.setDaemon(true);
+        tailThread.start();
+    }
+
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = tailThread;
+            tailThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public TransactionService promote() {
+        stop();
+        while (poll()) {
+        }
+        if (pendingBytes > 0) {
+            System.err.println("Discarding " + pendingBytes + " bytes of an incomplete record at the end of " + logFileName);
+        }
+        standbyService.promoteToPrimary();
+        return standbyService;
+    }
+
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    public long getReplicationLagMillis() {
+        if (pendingBytes > 0 && lastEntryTimestamp > 0) {
+            return Math.max(lastApplyLagMillis, System.currentTimeMillis() - lastEntryTimestamp);
+        }
+        return lastApplyLagMillis;
+    }
+
+    public String describeLag() {
+        return "Replica applied sequence " + appliedSequence +
+                ", lag " + getReplicationLagMillis() + " ms" +
+                ", pending " + pendingBytes + " bytes";
+    }
+
+    private void tailLoop() {
+        while (running) {
+            poll();
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private synchronized boolean poll() {
+        File file = new File(logFileName);
+        if (!file.exists()) return false;
+
+        try (RandomAccessFile log = new RandomAccessFile(file, "r")) {
+            long length = log.length();
+            if (length < position) {
+                System.err.println("Mutation log " + logFileName + " was truncated, replica must be re-seeded");
+                position = length;
+                partialLine.reset();
+            }
+            if (length == position) {
+                pendingBytes = partialLine.size();
+                return false;
+            }
+
+            byte[] chunk = new byte[(int) Math.min(length - position, CHUNK_BYTES)];
+            log.seek(position);
+            while (position < length) {
+                int size = (int) Math.min(length - position, chunk.length);
+                log.readFully(chunk, 0, size);
+                int lineStart = 0;
+                for (int i = 0; i < size; i++) {
+                    if (chunk[i] != '\n') continue;
+                    partialLine.write(chunk, lineStart, i - lineStart);
+                    lineStart = i + 1;
+                    String line = takeLine();
+                    if (!line.isEmpty()) {
+                        applyLine(line);
+                    }
+                }
+                partialLine.write(chunk, lineStart, size - lineStart);
+                position += size;
+                pendingBytes = length - position + partialLine.size();
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error tailing mutation log: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private String takeLine() {
+        byte[] bytes = partialLine.toByteArray();
+        partialLine.reset();
+        int length = bytes.length > 0 && bytes[bytes.length - 1] == '\r' ? bytes.length - 1 : bytes.length;
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void applyLine(String line) {
+        try {
+            MutationLogEntry entry = MutationLogEntry.parse(line);
+            if (entry.getSequence() <= appliedSequence) return;
+            standbyService.applyMutation(entry);
+            appliedSequence = entry.getSequence();
+            lastEntryTimestamp = entry.getTimestamp();
+            lastApplyLagMillis = Math.max(0, System.currentTimeMillis() - entry.getTimestamp());
+        } catch (InvalidDataException e) {
+            System.err.println("Replica skipped entry: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package services;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class SlowOperationLog {
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final SlowOperationLog GLOBAL = new SlowOperationLog(System.getProperty("trace.file", "slow_operations.log"));
+
+    private final String fileName;
+    private final BlockingQueue<OperationTrace.SlowOperation> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder written = MetricsRegistry.global().counter("trace.slow_operations");
+    private final LongAdder dropped = MetricsRegistry.global().counter("trace.dropped");
+    private volatile Thread writer;
+
+    private SlowOperationLog(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public static SlowOperationLog global() {
+        return GLOBAL;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    void submit(OperationTrace.SlowOperation operation) {
+        if (!queue.offer(operation)) {
+            dropped.increment();
+            return;
+        }
+        if (writer == null) {
+            startWriter();
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writer != null) return;
+        Thread thread = new Thread(this::drain, "slow-operation-log");
+        thread.setDaemon(true);
+        thread.start();
+        writer = thread;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flushRemaining, "slow-operation-log-flush"));
+    }
+
+    private void drain() {
+        List<OperationTrace.SlowOperation> batch = new ArrayList<>();
+        StringBuilder line = new StringBuilder(256);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch);
+            write(batch, line);
+            batch.clear();
+        }
+    }
+
+    private synchronized void flushRemaining() {
+        List<OperationTrace.SlowOperation> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        write(batch, new StringBuilder(256));
+    }
+
+    private synchronized void write(List<OperationTrace.SlowOperation> batch, StringBuilder line) {
+        if (batch.isEmpty()) return;
+        try (BufferedWriter out = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(fileName, true), StandardCharsets.UTF_8))) {
+            for (OperationTrace.SlowOperation operation : batch) {
+                line.setLength(0);
+                operation.appendTo(line);
+                out.append(line);
+                out.newLine();
+            }
+            written.add(batch.size());
+        } catch (IOException e) {
+            System.err.println("Error writing slow operation log " + fileName + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package services;
+
+import exceptions.FileReadException;
+import model.AccountView;
+import model.Transaction;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StatementGenerator {
+    public enum Format {
+        CSV("csv"),
+        TEXT("txt");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+    }
+
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final TransactionService transactionService;
+    private final int threads;
+
+    public StatementGenerator(TransactionService transactionService) {
+        this(transactionService, Runtime.getRuntime().availableProcessors());
+    }
+
+    public StatementGenerator(TransactionService transactionService, int threads) {
+        this.transactionService = transactionService;
+        this.threads = Math.max(1, threads);
+    }
+
+    public StatementRun generate(YearMonth period, Path outputDirectory, Format format) throws FileReadException {
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            throw new FileReadException("Cannot create statement directory " + outputDirectory + ": " + e.getMessage());
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        long periodStart = period.atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        long periodEnd = period.plusMonths(1).atDay(1).atStartOfDay(zone).toInstant().toEpochMilli();
+
+        LedgerSnapshot snapshot = transactionService.snapshot();
+        AtomicInteger periodTransactions = new AtomicInteger();
+        Map<String, String> accountNumbers = new HashMap<>();
+        for (AccountView account : snapshot.getAccounts()) {
+            accountNumbers.put(account.getId(), account.getAccountNum());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "statement-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        int written = 0;
+        int failed = 0;
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (AccountView account : snapshot.getAccounts()) {
+                Path file = outputDirectory.resolve(account.getAccountNum() + "_" + period + "." + format.extension);
+                Callable<Boolean> task = () -> writeStatement(file, account.getId(), periodStart, periodEnd, period,
+                        format, accountNumbers, periodTransactions);
+                results.add(executor.submit(task));
+            }
+            for (Future<Boolean> result : results) {
+                try {
+                    if (result.get()) {
+                        written++;
+                    } else {
+                        failed++;
+                    }
+                } catch (ExecutionException e) {
+                    failed++;
+                    System.err.println("Error writing statement: " + e.getCause().getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FileReadException("Statement run interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+        return new StatementRun(period, written, failed, periodTransactions.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private boolean writeStatement(Path file, String accountId, long periodStart, long periodEnd, YearMonth period,
+                                   Format format, Map<String, String> accountNumbers, AtomicInteger periodTransactions) {
+        AccountHistorySlice slice = transactionService.historySlice(accountId, periodStart, periodEnd);
+        if (slice == null) {
+            System.err.println("Account " + accountId + " was removed before its statement was written");
+            return false;
+        }
+        AccountView account = slice.getAccount();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writer.write("Account Number,Account Name,Customer,Period");
+                writer.newLine();
+                writer.write(csv(account.getAccountNum()) + "," + csv(account.getName()) + "," +
+                        csv(account.getCustomerName()) + "," + period);
+                writer.newLine();
+                writer.write("Opening Balance," + money(slice.getOpeningBalance()));
+                writer.newLine();
+                writer.write("Date,Transaction Id,Type,Details,Amount,Balance");
+                writer.newLine();
+            } else {
+                writer.write("Statement for " + account.getName() + " (" + account.getAccountNum() + ")");
+                writer.newLine();
+                writer.write("Customer: " + account.getCustomerName() + "    Period: " + period);
+                writer.newLine();
+                writer.newLine();
+                writer.write(String.format("%-19s  %-10s  %-28s  %14s  %14s", "Date", "Type", "Details", "Amount", "Balance"));
+                writer.newLine();
+                writer.write(String.format("%-19s  %-10s  %-28s  %14s  %14s", "", "", "Opening balance", "", money(slice.getOpeningBalance())));
+                writer.newLine();
+            }
+
+            double balance = slice.getOpeningBalance();
+            for (Transaction transaction : slice.getTransactions()) {
+                if (isCountedFor(transaction, accountId, accountNumbers)) {
+                    periodTransactions.incrementAndGet();
+                }
+                double effect = transaction.getBalanceEffect(accountId);
+                balance += effect;
+                String date = DATE_FORMAT.format(Instant.ofEpochMilli(transaction.getTimeMillis()));
+                String details = describe(transaction, accountId, accountNumbers);
+                if (format == Format.CSV) {
+                    writer.write(date + "," + transaction.getId() + "," + transaction.getType() + "," +
+                            csv(details) + "," + money(effect) + "," + money(balance));
+                } else {
+                    writer.write(String.format("%-19s  %-10s  %-28s  %14s  %14s",
+                            date, transaction.getType(), details, money(effect), money(balance)));
+                }
+                writer.newLine();
+            }
+
+            if (format == Format.CSV) {
+                writer.write("Closing Balance," + money(slice.getClosingBalance()));
+            } else {
+                writer.write(String.format("%-19s  %-10s  %-28s  %14s  %14s", "", "", "Closing balance", "", money(slice.getClosingBalance())));
+            }
+            writer.newLine();
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing statement " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isCountedFor(Transaction transaction, String accountId, Map<String, String> accountNumbers) {
+        String sendingId = transaction.getSendingAccountId();
+        return accountId.equals(sendingId) || sendingId == null || !accountNumbers.containsKey(sendingId);
+    }
+
+    private String describe(Transaction transaction, String accountId, Map<String, String> accountNumbers) {
+        return switch (transaction.getTransactionType()) {
+            case DEPOSIT -> "External deposit";
+            case WITHDRAWAL -> "External withdrawal";
+            case INTEREST -> "Interest credit";
+            case FEE -> "Maintenance fee";
+            case TRANSFER -> accountId.equals(transaction.getSendingAccountId())
+                    ? "To " + accountNumbers.getOrDefault(transaction.getReceivingAccountId(), "Unknown")
+                    : "From " + accountNumbers.getOrDefault(transaction.getSendingAccountId(), "Unknown");
+        };
+    }
+
+    private String money(double amount) {
+        return String.format("%.2f", amount);
+    }
+
+    private String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,50 @@
+package services;
+
+import java.time.YearMonth;
+
+public final class StatementRun {
+    private final YearMonth period;
+    private final int statementsWritten;
+    private final int statementsFailed;
+    private final int transactionCount;
+    private final long elapsedMillis;
+
+    StatementRun(YearMonth period, int statementsWritten, int statementsFailed, int transactionCount, long elapsedMillis) {
+        this.period = period;
+        this.statementsWritten = statementsWritten;
+        this.statementsFailed = statementsFailed;
+        this.transactionCount = transactionCount;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public YearMonth getPeriod() {
+        return period;
+    }
+
+    public int getStatementsWritten() {
+        return statementsWritten;
+    }
+
+    public int getStatementsFailed() {
+        return statementsFailed;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementRun{" +
+                "period=" + period +
+                ", written=" + statementsWritten +
+                ", failed=" + statementsFailed +
+                ", transactions=" + transactionCount +
+                ", elapsedMillis=" + elapsedMillis +
+                '}';
+    }
+}
@@ -0,0 +1,47 @@
+package services;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+final class StorageMetrics {
+    private final String fileName;
+    private final LatencyHistogram loadLatency;
+    private final LatencyHistogram saveLatency;
+    private final LongAdder loadedRows;
+    private final LongAdder savedRows;
+    private final AtomicLong lastSaveNanos;
+    private final AtomicLong fileBytes;
+
+    StorageMetrics(String fileName) {
+        this.fileName = fileName;
+        String metricName = new File(fileName).getName();
+        loadLatency = MetricsRegistry.global().histogram("storage.load." + metricName);
+        saveLatency = MetricsRegistry.global().histogram("storage.save." + metricName);
+        loadedRows = MetricsRegistry.global().counter("storage.load." + metricName + ".rows");
+        savedRows = MetricsRegistry.global().counter("storage.save." + metricName + ".rows");
+        lastSaveNanos = MetricsRegistry.global().gauge("storage.save." + metricName + ".last");
+        fileBytes = MetricsRegistry.global().gauge("storage." + metricName + ".bytes");
+    }
+
+    FileIoEvent begin() {
+        FileIoEvent event = new FileIoEvent();
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    void recordLoad(FileIoEvent event, int rows) {
+        loadLatency.recordSince(event.startNanos);
+        event.complete(fileName, FileIoEvent.LOAD, rows);
+        loadedRows.add(rows);
+        fileBytes.set(new File(fileName).length());
+    }
+
+    void recordSave(FileIoEvent event, int rows) {
+        lastSaveNanos.set(saveLatency.recordSince(event.startNanos) - event.startNanos);
+        event.complete(fileName, FileIoEvent.SAVE, rows);
+        savedRows.add(rows);
+        fileBytes.set(new File(fileName).length());
+    }
+}
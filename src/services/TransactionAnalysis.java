@@ -0,0 +1,127 @@
+package services;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public final class TransactionAnalysis {
+    public static final double[] AMOUNT_BOUNDS = {10, 50, 100, 500, 1_000, 5_000, 10_000, 50_000};
+
+    public static final class AccountVolume {
+        private final String accountId;
+        private final String accountNumber;
+        private final String customerName;
+        private final double volume;
+        private final long postings;
+
+        AccountVolume(String accountId, String accountNumber, String customerName, double volume, long postings) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.customerName = customerName;
+            this.volume = volume;
+            this.postings = postings;
+        }
+
+        public String getAccountId() {
+            return accountId;
+        }
+
+        public String getAccountNumber() {
+            return accountNumber;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+
+        public double getVolume() {
+            return volume;
+        }
+
+        public long getPostings() {
+            return postings;
+        }
+    }
+
+    public static final class DailyCounts {
+        private final LocalDate date;
+        private final long[] counts;
+
+        DailyCounts(LocalDate date, long[] counts) {
+            this.date = date;
+            this.counts = counts;
+        }
+
+        public LocalDate getDate() {
+            return date;
+        }
+
+        public long getCount(int typeIndex) {
+            return counts[typeIndex];
+        }
+
+        public long getTotal() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+
+    private final long transactionCount;
+    private final List<AccountVolume> topAccounts;
+    private final long[][] amountHistogram;
+    private final List<DailyCounts> dailyCounts;
+    private final long elapsedMillis;
+
+    TransactionAnalysis(long transactionCount, List<AccountVolume> topAccounts, long[][] amountHistogram,
+                        List<DailyCounts> dailyCounts, long elapsedMillis) {
+        this.transactionCount = transactionCount;
+        this.topAccounts = List.copyOf(topAccounts);
+        this.amountHistogram = amountHistogram;
+        this.dailyCounts = List.copyOf(dailyCounts);
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public static int bucketIndex(double amount) {
+        int bucket = 0;
+        while (bucket < AMOUNT_BOUNDS.length && amount >= AMOUNT_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    public static String bucketLabel(int bucket) {
+        if (bucket == 0) return String.format("< %,.0f", AMOUNT_BOUNDS[0]);
+        if (bucket == AMOUNT_BOUNDS.length) return String.format(">= %,.0f", AMOUNT_BOUNDS[bucket - 1]);
+        return String.format("%,.0f - %,.0f", AMOUNT_BOUNDS[bucket - 1], AMOUNT_BOUNDS[bucket]);
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public List<AccountVolume> getTopAccounts() {
+        return topAccounts;
+    }
+
+    public long getHistogramCount(int typeIndex, int bucket) {
+        return amountHistogram[typeIndex][bucket];
+    }
+
+    public long getHistogramCount(int bucket) {
+        long count = 0;
+        for (long[] typeHistogram : amountHistogram) {
+            count += typeHistogram[bucket];
+        }
+        return count;
+    }
+
+    public List<DailyCounts> getDailyCounts() {
+        return dailyCounts;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
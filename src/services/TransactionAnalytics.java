@@ -0,0 +1,185 @@
+package services;
+
+import model.AccountView;
+import model.Transaction;
+import model.TransactionType;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+public class TransactionAnalytics {
+    private static final int MIN_CHUNK = 16_384;
+
+    private final TransactionService transactionService;
+    private final ForkJoinPool pool;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    public TransactionAnalytics(TransactionService transactionService) {
+        this(transactionService, ForkJoinPool.commonPool());
+    }
+
+    public TransactionAnalytics(TransactionService transactionService, ForkJoinPool pool) {
+        this.transactionService = transactionService;
+        this.pool = pool;
+    }
+
+    public TransactionAnalysis analyze(int topN) {
+        long start = System.nanoTime();
+        Transaction[] transactions = transactionService.copyTransactions();
+        List<AccountView> accounts = transactionService.snapshot().getAccounts();
+        Map<String, Integer> accountIndex = new HashMap<>(accounts.size() * 2);
+        for (int i = 0; i < accounts.size(); i++) {
+            accountIndex.put(accounts.get(i).getId(), i);
+        }
+
+        int chunk = Math.max(MIN_CHUNK, transactions.length / (pool.getParallelism() * 2) + 1);
+        Partial total = pool.invoke(new AnalysisTask(transactions, 0, transactions.length, chunk,
+                accountIndex, accounts.size()));
+
+        List<TransactionAnalysis.AccountVolume> topAccounts = topAccounts(total, accounts, topN);
+        List<TransactionAnalysis.DailyCounts> dailyCounts = new ArrayList<>(total.days.size());
+        for (Map.Entry<Long, long[]> day : total.days.entrySet()) {
+            dailyCounts.add(new TransactionAnalysis.DailyCounts(LocalDate.ofEpochDay(day.getKey()), day.getValue()));
+        }
+        dailyCounts.sort(Comparator.comparing(TransactionAnalysis.DailyCounts::getDate).reversed());
+        return new TransactionAnalysis(transactions.length, topAccounts, total.histogram, dailyCounts,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private List<TransactionAnalysis.AccountVolume> topAccounts(Partial total, List<AccountView> accounts, int topN) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, topN) + 1,
+                Comparator.comparingDouble(index -> total.volumes[index]));
+        for (int i = 0; i < total.volumes.length; i++) {
+            if (total.postings[i] == 0) continue;
+            if (heap.size() < topN) {
+                heap.add(i);
+            } else if (topN > 0 && total.volumes[i] > total.volumes[heap.peek()]) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<TransactionAnalysis.AccountVolume> topAccounts = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) {
+            int index = heap.poll();
+            AccountView account = accounts.get(index);
+            topAccounts.add(new TransactionAnalysis.AccountVolume(account.getId(), account.getAccountNum(),
+                    account.getCustomerName(), total.volumes[index], total.postings[index]));
+        }
+        Collections.reverse(topAccounts);
+        return topAccounts;
+    }
+
+    private static final class Partial {
+        private final double[] volumes;
+        private final long[] postings;
+        private final long[][] histogram = new long[TransactionType.values().length][TransactionAnalysis.AMOUNT_BOUNDS.length + 1];
+        private final Map<Long, long[]> days = new HashMap<>();
+
+        private Partial(int accountCount) {
+            volumes = new double[accountCount];
+            postings = new long[accountCount];
+        }
+
+        private Partial merge(Partial other) {
+            for (int i = 0; i < volumes.length; i++) {
+                volumes[i] += other.volumes[i];
+                postings[i] += other.postings[i];
+            }
+            for (int type = 0; type < histogram.length; type++) {
+                for (int bucket = 0; bucket < histogram[type].length; bucket++) {
+                    histogram[type][bucket] += other.histogram[type][bucket];
+                }
+            }
+            for (Map.Entry<Long, long[]> day : other.days.entrySet()) {
+                long[] counts = days.putIfAbsent(day.getKey(), day.getValue());
+                if (counts != null) {
+                    for (int type = 0; type < counts.length; type++) {
+                        counts[type] += day.getValue()[type];
+                    }
+                }
+            }
+            return this;
+        }
+    }
+
+    private final class AnalysisTask extends RecursiveTask<Partial> {
+        private final Transaction[] transactions;
+        private final int from;
+        private final int to;
+        private final int chunk;
+        private final Map<String, Integer> accountIndex;
+        private final int accountCount;
+
+        private AnalysisTask(Transaction[] transactions, int from, int to, int chunk,
+                             Map<String, Integer> accountIndex, int accountCount) {
+            this.transactions = transactions;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+            this.accountIndex = accountIndex;
+            this.accountCount = accountCount;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= chunk) {
+                return scan();
+            }
+            int middle = (from + to) >>> 1;
+            AnalysisTask left = new AnalysisTask(transactions, from, middle, chunk, accountIndex, accountCount);
+            left.fork();
+            Partial right = new AnalysisTask(transactions, middle, to, chunk, accountIndex, accountCount).compute();
+            return left.join().merge(right);
+        }
+
+        private Partial scan() {
+            Partial partial = new Partial(accountCount);
+            long dayStart = Long.MAX_VALUE;
+            long dayEnd = Long.MIN_VALUE;
+            long[] dayCounts = null;
+            for (int i = from; i < to; i++) {
+                Transaction transaction = transactions[i];
+                double amount = transaction.getAmount();
+                int type = transaction.getTransactionType().ordinal();
+                partial.histogram[type][TransactionAnalysis.bucketIndex(amount)]++;
+
+                long time = transaction.getTimeMillis();
+                if (time < dayStart || time >= dayEnd) {
+                    ZonedDateTime midnight = Instant.ofEpochMilli(time).atZone(zone).toLocalDate().atStartOfDay(zone);
+                    dayStart = midnight.toInstant().toEpochMilli();
+                    dayEnd = midnight.plusDays(1).toInstant().toEpochMilli();
+                    dayCounts = partial.days.computeIfAbsent(midnight.toLocalDate().toEpochDay(),
+                            day -> new long[TransactionType.values().length]);
+                }
+                dayCounts[type]++;
+
+                String sendingAccountId = transaction.getSendingAccountId();
+                String receivingAccountId = transaction.getReceivingAccountId();
+                addVolume(partial, sendingAccountId, amount);
+                if (receivingAccountId != null && !receivingAccountId.equals(sendingAccountId)) {
+                    addVolume(partial, receivingAccountId, amount);
+                }
+            }
+            return partial;
+        }
+
+        private void addVolume(Partial partial, String accountId, double amount) {
+            if (accountId == null || accountId.isEmpty()) return;
+            Integer index = accountIndex.get(accountId);
+            if (index == null) return;
+            partial.volumes[index] += amount;
+            partial.postings[index]++;
+        }
+    }
+}
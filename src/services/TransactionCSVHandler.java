@@ -3,7 +3,9 @@ package services;
 import exceptions.FileReadException;
 import exceptions.InvalidDataException;
 import interfaces.IFileHandler;
+import model.AccountHandles;
 import model.Transaction;
+import model.TransactionType;
 
 import java.io.*;
 import java.text.ParseException;
@@ -13,19 +15,35 @@ import java.util.Date;
 import java.util.List;
 
 public class TransactionCSVHandler implements IFileHandler<Transaction> {
+    private static final String DATE_PATTERN = "yyyy-MM-dd HH:mm:ss";
+    private static final String FORMAT_HEADER = "#format," + DATE_PATTERN;
+
     private final String fileName;
-    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-mm-dd HH:mm:ss");
+    private final StorageMetrics metrics;
+    private final AccountHandles accountHandles;
+    private boolean legacyFormat;
+    private final SimpleDateFormat dateFormat = strictFormat(DATE_PATTERN);
+    private final SimpleDateFormat legacyDateFormat = strictFormat("yyyy-mm-dd HH:mm:ss");
     public TransactionCSVHandler(String fileName) {
+        this(fileName, new AccountHandles());
+    }
+
+    public TransactionCSVHandler(String fileName, AccountHandles accountHandles) {
         this.fileName = fileName;
+        this.accountHandles = accountHandles;
+        metrics = new StorageMetrics(fileName);
     }
 
     @Override
     public void saveData(List<Transaction> data) throws FileReadException {
+        FileIoEvent event = metrics.begin();
         try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+            writer.write(FORMAT_HEADER);
+            writer.newLine();
             for (Transaction transaction : data) {
                 writer.write(String.join(",",
                         transaction.getId(),
-                        transaction.getName(),
+                        "null",
                         transaction.getType(),
                         String.valueOf(transaction.getAmount()),
                         transaction.getSendingAccountId() == null ? "" : transaction.getSendingAccountId(),
@@ -35,43 +53,101 @@ public class TransactionCSVHandler implements IFileHandler<Transaction> {
             }
         } catch (Exception e) {
             throw new FileReadException("Error while saving data" + e.getMessage());
+        } finally {
+            metrics.recordSave(event, data.size());
         }
     }
 
     @Override
     public List<Transaction> loadData() throws FileReadException, InvalidDataException {
+        FileIoEvent event = metrics.begin();
         List<Transaction> data = new ArrayList<>();
         File file = new File(fileName);
+        legacyFormat = false;
         if (!file.exists()) return data;
+        try {
+            legacyFormat = isLegacyFile(file);
+            data = readRows(file, legacyFormat ? legacyDateFormat : dateFormat);
+        } catch (Exception e) {
+            throw new FileReadException("Error while loading data" + e.getMessage());
+        } catch (Throwable e) {
+            throw new InvalidDataException("Error while loading data" + e.getMessage());
+        } finally {
+            metrics.recordLoad(event, data.size());
+        }
+        return data;
+    }
+
+    public boolean isLegacyFormat() {
+        return legacyFormat;
+    }
+
+    private List<Transaction> readRows(File file, SimpleDateFormat format) throws IOException {
+        List<Transaction> data = new ArrayList<>();
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
             String line;
+            int lineNumber = 0;
             while ((line = reader.readLine()) != null) {
+                lineNumber++;
                 String[] parts = line.split(",");
                 if (parts.length < 7) continue;
 
                 String id = parts[0];
-                String name = parts[1];
-                String type = parts[2];
-                double amount = Double.parseDouble(parts[3]);
+                TransactionType type;
+                double amount;
+                try {
+                    type = TransactionType.fromLabel(parts[2]);
+                    amount = Double.parseDouble(parts[3]);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping line " + lineNumber + " of " + fileName + ": " + e.getMessage());
+                    continue;
+                }
                 String sendingAccountId = parts[4].isEmpty() ? "" : parts[4];
                 String receivingAccountId = parts[5].isEmpty() ? "" : parts[5];
                 Date timeStamp  = new Date();
                 try {
-                     timeStamp = dateFormat.parse(parts[6]);
+                     timeStamp = format.parse(parts[6]);
                 } catch (ParseException e) {
                     System.err.println("Error while parsing date: " + e.getMessage());
                 }
 
-                Transaction transaction = new Transaction(type, amount, sendingAccountId, receivingAccountId, timeStamp);
+                Transaction transaction = new Transaction(accountHandles, type, amount, sendingAccountId, receivingAccountId,
+                        timeStamp.getTime());
                 transaction.setId(id);
-                transaction.setName(name);
                 data.add(transaction);
             }
-        } catch (Exception e) {
-            throw new FileReadException("Error while loading data" + e.getMessage());
-        } catch (Throwable e) {
-            throw new InvalidDataException("Error while loading data" + e.getMessage());
         }
         return data;
     }
+
+    private boolean isLegacyFile(File file) throws IOException {
+        boolean rows = false;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.equals(FORMAT_HEADER)) return false;
+                String[] parts = line.split(",");
+                if (parts.length < 7) continue;
+                if (!isLegacyDate(parts[6])) return false;
+                rows = true;
+            }
+        }
+        return rows;
+    }
+
+    private boolean isLegacyDate(String value) {
+        if (value.length() != DATE_PATTERN.length() || !value.regionMatches(5, value, 14, 2)) return false;
+        try {
+            legacyDateFormat.parse(value);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    private static SimpleDateFormat strictFormat(String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setLenient(false);
+        return format;
+    }
 }
@@ -0,0 +1,44 @@
+package services;
+
+import model.Transaction;
+
+import java.util.Comparator;
+
+public final class TransactionCursor {
+    static final Comparator<Transaction> ORDER = Comparator
+            .comparingLong(Transaction::getTimeMillis)
+            .thenComparing(Transaction::compareIdTo);
+
+    private final long timestamp;
+    private final String transactionId;
+
+    public TransactionCursor(long timestamp, String transactionId) {
+        this.timestamp = timestamp;
+        this.transactionId = transactionId;
+    }
+
+    public static TransactionCursor after(Transaction transaction) {
+        return new TransactionCursor(transaction.getTimeMillis(), transaction.getId());
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    int compareTo(Transaction transaction) {
+        int result = Long.compare(timestamp, transaction.getTimeMillis());
+        return result != 0 ? result : -transaction.compareIdTo(transactionId);
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionCursor{" +
+                "timestamp=" + timestamp +
+                ", transactionId='" + transactionId + '\'' +
+                '}';
+    }
+}
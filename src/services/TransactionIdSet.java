@@ -0,0 +1,50 @@
+package services;
+
+import model.Transaction;
+
+final class TransactionIdSet {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private Transaction[] slots = new Transaction[INITIAL_CAPACITY];
+    private int size;
+
+    boolean add(Transaction transaction) {
+        if ((size + 1) * 2 > slots.length) {
+            resize();
+        }
+        int index = indexOf(slots, transaction);
+        if (slots[index] != null) return false;
+        slots[index] = transaction;
+        size++;
+        return true;
+    }
+
+    boolean contains(Transaction transaction) {
+        return slots[indexOf(slots, transaction)] != null;
+    }
+
+    void clear() {
+        slots = new Transaction[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    private void resize() {
+        Transaction[] previous = slots;
+        slots = new Transaction[previous.length * 2];
+        for (Transaction transaction : previous) {
+            if (transaction != null) {
+                slots[indexOf(slots, transaction)] = transaction;
+            }
+        }
+    }
+
+    private static int indexOf(Transaction[] table, Transaction transaction) {
+        int mask = table.length - 1;
+        int hash = transaction.idHashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        while (table[index] != null && !table[index].hasSameId(transaction)) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+}
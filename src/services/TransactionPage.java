@@ -0,0 +1,29 @@
+package services;
+
+import model.Transaction;
+
+import java.util.List;
+
+public final class TransactionPage {
+    private final List<Transaction> transactions;
+    private final TransactionCursor nextCursor;
+    private final boolean hasMore;
+
+    TransactionPage(List<Transaction> transactions, TransactionCursor nextCursor, boolean hasMore) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public TransactionCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -3,88 +3,703 @@ package services;
 import exceptions.FileReadException;
 import exceptions.InsufficientFundsException;
 import exceptions.InvalidDataException;
+import exceptions.VersionConflictException;
 import model.Account;
+import model.AccountHandles;
+import model.AccountView;
 import model.Customer;
+import model.CustomerView;
 import model.Transaction;
+import model.TransactionType;
+import java.io.File;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 public class TransactionService {
+    private static final String CUSTOMERS_FILE = "customers.csv";
+    private static final String ACCOUNTS_FILE = "accounts.csv";
+    private static final String TRANSACTIONS_FILE = "transactions.csv";
+    private static final String MUTATION_LOG_FILE = "mutations.log";
+    private static final String BALANCE_SNAPSHOT_FILE = "balance_snapshots.csv";
+    private static final String VELOCITY_RULES_FILE = "velocity_rules.csv";
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.global();
+    private static final LatencyHistogram DEPOSIT_LATENCY = METRICS.histogram("service.deposit");
+    private static final LatencyHistogram WITHDRAW_LATENCY = METRICS.histogram("service.withdraw");
+    private static final LatencyHistogram TRANSFER_LATENCY = METRICS.histogram("service.transfer");
+    private static final LatencyHistogram FIND_ACCOUNT_LATENCY = METRICS.histogram("service.findAccountById");
+    private static final LatencyHistogram FIND_ACCOUNT_BY_NUMBER_LATENCY = METRICS.histogram("service.findAccountByNumber");
+    private static final LatencyHistogram FIND_CUSTOMER_LATENCY = METRICS.histogram("service.findCustomerById");
+    private static final LatencyHistogram HISTORY_LATENCY = METRICS.histogram("service.getTransactionsByAccount");
+    private static final LatencyHistogram HISTORY_PAGE_LATENCY = METRICS.histogram("service.getTransactionsPage");
+    private static final LatencyHistogram DATE_RANGE_LATENCY = METRICS.histogram("service.getTransactionByDateRange");
+    private static final LatencyHistogram SAVE_LATENCY = METRICS.histogram("service.saveDataToFile");
+    private static final LatencyHistogram LOAD_LATENCY = METRICS.histogram("service.loadDataFromFile");
+    private static final LongAdder DEPOSITS_REJECTED = METRICS.counter("service.deposit.rejected");
+    private static final LongAdder WITHDRAWALS_REJECTED = METRICS.counter("service.withdraw.rejected");
+    private static final LongAdder TRANSFERS_REJECTED = METRICS.counter("service.transfer.rejected");
+
+    private final String dataDirectory;
+
     private final CustomerCSVHandler customerFileHandler;
     private final TransactionCSVHandler transactionFileHandler;
     private final AccountCSVHandler accountFileHandler;
     private List<Customer> customers;
     private List<Transaction> transactions;
+    private final TransactionIdSet transactionIds = new TransactionIdSet();
+    private final AccountHandles accountHandles = new AccountHandles();
     private List<Account> accounts;
+    private boolean persistent;
+    private MutationLog mutationLog;
+    private BalanceSnapshotStore balanceSnapshots = BalanceSnapshotStore.inMemory();
+    private VelocityRules velocityRules = VelocityRules.none();
+    private final Map<String, Integer> customerSlots = new HashMap<>();
+    private final Map<String, Integer> accountSlots = new HashMap<>();
+    private final Map<String, List<Transaction>> accountHistory = new HashMap<>();
+    private final Map<String, Double> customerBalances = new HashMap<>();
+    private LedgerTotals totals = LedgerTotals.EMPTY;
+    private int batchDepth;
+    private boolean saveDeferred;
+    private final LedgerEventBus eventBus = new LedgerEventBus();
+    private volatile LedgerSnapshot snapshot = LedgerSnapshot.EMPTY;
 
     public TransactionService() {
-        accountFileHandler = new AccountCSVHandler("accounts.csv");
-        customerFileHandler = new CustomerCSVHandler("customers.csv");
-        transactionFileHandler = new TransactionCSVHandler("transactions.csv");
-        loadDataFromFile();
+        this(true);
+    }
+
+    public TransactionService(boolean persistent) {
+        this(null, persistent, persistent);
+    }
+
+    public TransactionService(String dataDirectory, boolean persistent) {
+        this(dataDirectory, true, persistent);
+    }
+
+    private TransactionService(String dataDirectory, boolean load, boolean persistent) {
+        this.dataDirectory = dataDirectory;
+        accountFileHandler = new AccountCSVHandler(dataFile(ACCOUNTS_FILE));
+        customerFileHandler = new CustomerCSVHandler(dataFile(CUSTOMERS_FILE));
+        transactionFileHandler = new TransactionCSVHandler(dataFile(TRANSACTIONS_FILE), accountHandles);
+        this.persistent = persistent;
+        if (load) {
+            loadDataFromFile();
+        } else {
+            customers = new ArrayList<>();
+            transactions = new ArrayList<>();
+            accounts = new ArrayList<>();
+        }
+        if (this.persistent) {
+            openMutationLog();
+            openBalanceSnapshots();
+        }
+        rebuildHistoryIndex();
+        rebuildDailyTotals();
+        rebuildSnapshot();
+        if (this.persistent) {
+            loadVelocityRules();
+        }
+    }
+
+    private String dataFile(String fileName) {
+        return dataDirectory == null ? fileName : new File(dataDirectory, fileName).getPath();
     }
 
+    public LedgerSnapshot snapshot() {
+        return snapshot;
+    }
+
+    public LedgerTotals getTotals() {
+        return snapshot.getTotals();
+    }
+
+    public synchronized double getCustomerBalance(String customerId) {
+        return customerBalances.getOrDefault(customerId, 0.0);
+    }
+
+    public LedgerEventBus getEventBus() {
+        return eventBus;
+    }
+
+    private void fireCustomerEvent(LedgerEvent.Type type, Customer customer) {
+        if (!eventBus.hasListeners() || customer == null) return;
+        Integer slot = customerSlots.get(customer.getId());
+        eventBus.publish(new LedgerEvent(type, customer.getId(), slot == null ? -1 : slot, snapshot, null));
+    }
+
+    private void fireCustomerEvent(LedgerEvent.Type type, String customerId) {
+        if (!eventBus.hasListeners() || customerId == null) return;
+        Integer slot = customerSlots.get(customerId);
+        eventBus.publish(new LedgerEvent(type, customerId, slot == null ? -1 : slot, snapshot, null));
+    }
+
+    private void fireAccountEvent(LedgerEvent.Type type, Account account) {
+        if (!eventBus.hasListeners() || account == null) return;
+        Integer slot = accountSlots.get(account.getId());
+        eventBus.publish(new LedgerEvent(type, account.getId(), slot == null ? -1 : slot, snapshot, null));
+    }
+
+    private void fireRemoved(LedgerEvent.Type type, String entityId) {
+        if (!eventBus.hasListeners()) return;
+        eventBus.publish(new LedgerEvent(type, entityId, -1, snapshot, null));
+    }
+
+    private void firePosting(Transaction transaction, Account... changedAccounts) {
+        if (!eventBus.hasListeners()) return;
+        if (transaction != null) {
+            eventBus.publish(new LedgerEvent(LedgerEvent.Type.TRANSACTION_POSTED, transaction.getId(), -1, snapshot, transaction));
+        }
+        for (Account account : changedAccounts) {
+            fireAccountEvent(LedgerEvent.Type.BALANCE_CHANGED, account);
+            if (account != null) {
+                fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, account.getCustomerId());
+            }
+        }
+    }
+
+    private void rebuildSnapshot() {
+        customerSlots.clear();
+        accountSlots.clear();
+        customerBalances.clear();
+        double totalBalance = 0.0;
+        PersistentVector<CustomerView> customerViews = PersistentVector.empty();
+        PersistentVector<AccountView> accountViews = PersistentVector.empty();
+        for (Customer customer : customers) {
+            double customerBalance = 0.0;
+            for (Account account : customer.getAccounts()) {
+                customerBalance += account.getBalance();
+            }
+            customerBalances.put(customer.getId(), customerBalance);
+            totalBalance += customerBalance;
+            customerSlots.put(customer.getId(), customerViews.size());
+            customerViews = customerViews.plus(new CustomerView(customer, customerBalance));
+            for (Account account : customer.getAccounts()) {
+                accountSlots.put(account.getId(), accountViews.size());
+                accountViews = accountViews.plus(new AccountView(account, customer));
+            }
+        }
+        totals = totals.withTotalBalance(totalBalance);
+        snapshot = snapshot.with(customerViews, accountViews, totals);
+    }
+
+    private void rebuildDailyTotals() {
+        for (Transaction transaction : transactions) {
+            totals = totals.withPosting(transaction);
+        }
+    }
+
+    private void adjustBalance(Account account, double delta) {
+        if (account == null || delta == 0.0) return;
+        customerBalances.merge(account.getCustomerId(), delta, Double::sum);
+        totals = totals.withBalanceChange(delta);
+    }
+
+    private void publishChanges(Customer customer, Account... changedAccounts) {
+        LedgerSnapshot current = snapshot;
+        PersistentVector<CustomerView> customerViews = current.customerVector();
+        PersistentVector<AccountView> accountViews = current.accountVector();
+
+        if (customer != null) {
+            Integer slot = customerSlots.get(customer.getId());
+            CustomerView view = new CustomerView(customer, customerBalances.getOrDefault(customer.getId(), 0.0));
+            if (slot == null) {
+                customerSlots.put(customer.getId(), customerViews.size());
+                customerViews = customerViews.plus(view);
+            } else {
+                customerViews = customerViews.with(slot, view);
+            }
+        }
+        for (Account account : changedAccounts) {
+            if (account == null) continue;
+            Customer owner = customer != null && customer.getId().equals(account.getCustomerId())
+                    ? customer : customerById(account.getCustomerId());
+            if (owner == null) continue;
+            Integer slot = accountSlots.get(account.getId());
+            if (slot == null) {
+                accountSlots.put(account.getId(), accountViews.size());
+                accountViews = accountViews.plus(new AccountView(account, owner));
+            } else {
+                accountViews = accountViews.with(slot, new AccountView(account, owner));
+            }
+            if (owner != customer) {
+                Integer ownerSlot = customerSlots.get(owner.getId());
+                if (ownerSlot != null) {
+                    double balance = customerBalances.getOrDefault(owner.getId(), 0.0);
+                    customerViews = customerViews.with(ownerSlot, customerViews.get(ownerSlot).withTotalBalance(balance));
+                }
+            }
+        }
+        snapshot = current.with(customerViews, accountViews, totals);
+    }
+
+    private void rebuildHistoryIndex() {
+        accountHistory.clear();
+        for (Transaction transaction : transactions) {
+            addToHistory(transaction.getSendingAccountId(), transaction);
+            if (!isSameAccount(transaction)) {
+                addToHistory(transaction.getReceivingAccountId(), transaction);
+            }
+        }
+        for (List<Transaction> history : accountHistory.values()) {
+            history.sort(TransactionCursor.ORDER);
+        }
+    }
+
+    private void addToHistory(String accountId, Transaction transaction) {
+        if (accountId == null || accountId.isEmpty()) return;
+        accountHistory.computeIfAbsent(accountId, id -> new ArrayList<>()).add(transaction);
+    }
+
+    private boolean isSameAccount(Transaction transaction) {
+        String sendingId = transaction.getSendingAccountId();
+        return sendingId != null && sendingId.equals(transaction.getReceivingAccountId());
+    }
+
+    private void recordTransaction(Transaction transaction) {
+        transactions.add(transaction);
+        transactionIds.add(transaction);
+        indexTransaction(transaction.getSendingAccountId(), transaction);
+        if (!isSameAccount(transaction)) {
+            indexTransaction(transaction.getReceivingAccountId(), transaction);
+        }
+    }
+
+    private void indexTransaction(String accountId, Transaction transaction) {
+        if (accountId == null || accountId.isEmpty()) return;
+        List<Transaction> history = accountHistory.computeIfAbsent(accountId, id -> new ArrayList<>());
+        int position = history.size();
+        if (position > 0 && TransactionCursor.ORDER.compare(history.get(position - 1), transaction) > 0) {
+            position = Collections.binarySearch(history, transaction, TransactionCursor.ORDER);
+            position = position < 0 ? -position - 1 : position;
+        }
+        history.add(position, transaction);
+    }
 
     private void loadDataFromFile() {
+        long start = System.nanoTime();
         try {
             customers = customerFileHandler.loadData();
             transactions = transactionFileHandler.loadData();
             accounts = accountFileHandler.loadData();
 
             removeDuplicateTransactions();
+            if (persistent && transactionFileHandler.isLegacyFormat()) {
+                migrateTransactionFile();
+            }
 
+            Map<String, Customer> owners = new HashMap<>();
+            for (Customer customer : customers) {
+                owners.putIfAbsent(customer.getId(), customer);
+            }
             for (Account account : accounts) {
-             Customer owner = findCustomerById(account.getCustomerId());
+             Customer owner = owners.get(account.getCustomerId());
              if (owner != null) {
                  owner.addAccount(account);
              }
             }
         } catch (FileReadException | InvalidDataException e) {
             System.err.println("Error loading data: " + e.getMessage());
+            if (persistent) {
+                System.err.println("Changes will not be saved, so the data files are left as they are");
+                persistent = false;
+            }
             customers = new ArrayList<>();
             transactions = new ArrayList<>();
+            transactionIds.clear();
             accounts = new ArrayList<>();
+        } finally {
+            LOAD_LATENCY.recordSince(start);
         }
     }
     
+    private void migrateTransactionFile() {
+        try {
+            transactionFileHandler.saveData(transactions);
+            System.err.println("Migrated " + dataFile(TRANSACTIONS_FILE) + " from the yyyy-mm-dd to the yyyy-MM-dd date format");
+        } catch (FileReadException e) {
+            System.err.println("Error migrating " + dataFile(TRANSACTIONS_FILE) + ": " + e.getMessage());
+        }
+    }
+
     private void removeDuplicateTransactions() {
-        List<Transaction> uniqueTransactions = new ArrayList<>();
+        List<Transaction> uniqueTransactions = new ArrayList<>(transactions.size());
+        transactionIds.clear();
         for (Transaction transaction : transactions) {
-            boolean isDuplicate = false;
-            for (Transaction uniqueTransaction : uniqueTransactions) {
-                if (transaction.getId().equals(uniqueTransaction.getId())) {
-                    isDuplicate = true;
-                    break;
-                }
-            }
-            if (!isDuplicate) {
+            if (transactionIds.add(transaction)) {
                 uniqueTransactions.add(transaction);
             }
         }
         transactions = uniqueTransactions;
     }
 
+    private void openMutationLog() {
+        try {
+            mutationLog = new MutationLog(dataFile(MUTATION_LOG_FILE));
+            if (mutationLog.isEmpty()) {
+                writeLogBootstrap();
+            }
+        } catch (FileReadException e) {
+            System.err.println("Error opening mutation log: " + e.getMessage());
+            mutationLog = null;
+        }
+    }
+
+    private void openBalanceSnapshots() {
+        try {
+            balanceSnapshots = new BalanceSnapshotStore(dataFile(BALANCE_SNAPSHOT_FILE));
+        } catch (FileReadException e) {
+            System.err.println("Error opening balance snapshots: " + e.getMessage());
+        }
+    }
+
+    private void loadVelocityRules() {
+        try {
+            velocityRules = VelocityRules.load(dataFile(VELOCITY_RULES_FILE));
+        } catch (FileReadException | InvalidDataException e) {
+            System.err.println("Error loading velocity rules: " + e.getMessage());
+        }
+        seedVelocityWindows();
+    }
+
+    private void seedVelocityWindows() {
+        if (velocityRules.isEmpty()) return;
+        long since = System.currentTimeMillis() - velocityRules.longestWindowMillis();
+        Map<String, Account> accountsById = new HashMap<>();
+        List<Transaction> recent = new ArrayList<>();
+        for (Account account : accounts) {
+            accountsById.put(account.getId(), account);
+            List<Transaction> history = accountHistory.get(account.getId());
+            if (history == null) continue;
+            for (int i = history.size() - 1; i >= 0 && history.get(i).getTimeMillis() > since; i--) {
+                Transaction transaction = history.get(i);
+                if (account.getId().equals(velocityAccountIdOf(transaction))) {
+                    recent.add(transaction);
+                }
+            }
+        }
+        recent.sort(TransactionCursor.ORDER);
+        for (Transaction transaction : recent) {
+            VelocityRule.Operation operation = transaction.getTransactionType() == TransactionType.WITHDRAWAL
+                    ? VelocityRule.Operation.WITHDRAWAL : VelocityRule.Operation.TRANSFER;
+            velocityRules.record(accountsById.get(velocityAccountIdOf(transaction)), operation,
+                    transaction.getAmount(), transaction.getTimeMillis());
+        }
+    }
+
+    private static String velocityAccountIdOf(Transaction transaction) {
+        return switch (transaction.getTransactionType()) {
+            case WITHDRAWAL -> transaction.getReceivingAccountId();
+            case TRANSFER -> transaction.getSendingAccountId();
+            default -> null;
+        };
+    }
+
+    public synchronized VelocityRules getVelocityRules() {
+        return velocityRules;
+    }
+
+    public synchronized void setVelocityRules(VelocityRules velocityRules) {
+        this.velocityRules = velocityRules == null ? VelocityRules.none() : velocityRules;
+        seedVelocityWindows();
+    }
+
+    private boolean checkVelocity(Account account, VelocityRule.Operation operation, double amount, long now) {
+        if (velocityRules.isEmpty()) return true;
+        long hits = velocityRules.evaluate(account, operation, amount, now);
+        if (hits == 0) return true;
+        boolean blocked = velocityRules.isBlocked(hits);
+        for (long remaining = hits; remaining != 0; remaining &= remaining - 1) {
+            VelocityRule rule = velocityRules.rule(Long.numberOfTrailingZeros(remaining));
+            String detail = (rule.isBlocking() ? "Blocked " : "Flagged ") + operation.name().toLowerCase() + " of " +
+                    String.format("%.2f", amount) + " on " + account.getAccountNum() + ": " + rule;
+            if (rule.isBlocking()) {
+                System.err.println("Velocity limit: " + detail);
+            }
+            fireVelocityHit(account, detail);
+        }
+        return !blocked;
+    }
+
+    private void recordVelocity(Account account, VelocityRule.Operation operation, double amount, long now) {
+        if (!velocityRules.isEmpty()) {
+            velocityRules.record(account, operation, amount, now);
+        }
+    }
+
+    private void fireVelocityHit(Account account, String detail) {
+        if (!eventBus.hasListeners()) return;
+        Integer slot = accountSlots.get(account.getId());
+        eventBus.publish(new LedgerEvent(LedgerEvent.Type.VELOCITY_LIMIT_HIT, account.getId(),
+                slot == null ? -1 : slot, snapshot, null, detail));
+    }
+
+    private void writeLogBootstrap() {
+        for (Customer customer : customers) {
+            logMutation(MutationLogEntry.Operation.CUSTOMER_ADDED, customerFields(customer));
+        }
+        for (Account account : accounts) {
+            logMutation(MutationLogEntry.Operation.ACCOUNT_ADDED, accountFields(account));
+        }
+        for (Transaction transaction : transactions) {
+            logMutation(MutationLogEntry.Operation.TRANSACTION_RESTORED,
+                    transaction.getId(),
+                    transaction.getType(),
+                    String.valueOf(transaction.getAmount()),
+                    transaction.getSendingAccountId(),
+                    transaction.getReceivingAccountId(),
+                    String.valueOf(transaction.getTimeMillis()));
+        }
+    }
+
+    private void logMutation(MutationLogEntry.Operation operation, String... fields) {
+        if (mutationLog == null) return;
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.MUTATION);
+        try {
+            mutationLog.append(operation, fields);
+            trace.markFile(MUTATION_LOG_FILE);
+        } catch (FileReadException e) {
+            System.err.println("Error writing mutation log: " + e.getMessage());
+        }
+    }
+
+    private void logPostedTransaction(Transaction transaction) {
+        Account sendingAccount = accountById(transaction.getSendingAccountId());
+        Account receivingAccount = accountById(transaction.getReceivingAccountId());
+        logMutation(MutationLogEntry.Operation.TRANSACTION_POSTED,
+                postedTransactionFields(transaction, sendingAccount, receivingAccount));
+    }
+
+    private String[] postedTransactionFields(Transaction transaction, Account sendingAccount, Account receivingAccount) {
+        return new String[]{
+                transaction.getId(),
+                transaction.getType(),
+                String.valueOf(transaction.getAmount()),
+                transaction.getSendingAccountId(),
+                transaction.getReceivingAccountId(),
+                String.valueOf(transaction.getTimeMillis()),
+                sendingAccount == null ? null : String.valueOf(sendingAccount.getBalance()),
+                receivingAccount == null ? null : String.valueOf(receivingAccount.getBalance()),
+                sendingAccount == null ? null : String.valueOf(sendingAccount.getVersion()),
+                receivingAccount == null ? null : String.valueOf(receivingAccount.getVersion())};
+    }
+
+    private String[] customerFields(Customer customer) {
+        return new String[]{customer.getId(), customer.getName(), customer.getEmail(), customer.getPhone(),
+                String.valueOf(customer.getVersion())};
+    }
+
+    private String[] accountFields(Account account) {
+        return new String[]{account.getId(), account.getName(), account.getAccountNum(),
+                account.getCustomerId(), String.valueOf(account.getBalance()), String.valueOf(account.getVersion())};
+    }
+
+    public synchronized void applyMutation(MutationLogEntry entry) throws InvalidDataException {
+        try {
+            switch (entry.getOperation()) {
+                case CUSTOMER_ADDED, CUSTOMER_UPDATED -> applyCustomer(entry);
+                case CUSTOMER_DELETED -> {
+                    Customer customer = customerById(entry.getField(0));
+                    if (customer != null) {
+                        customers.remove(customer);
+                        rebuildSnapshot();
+                        fireRemoved(LedgerEvent.Type.CUSTOMER_REMOVED, customer.getId());
+                    }
+                }
+                case ACCOUNT_ADDED -> applyAccount(entry);
+                case ACCOUNT_DELETED -> {
+                    Customer customer = customerById(entry.getField(0));
+                    Account account = accountById(entry.getField(1));
+                    if (account != null) {
+                        if (customer != null) {
+                            customer.removeAccount(account);
+                        }
+                        accounts.remove(account);
+                        rebuildSnapshot();
+                        fireRemoved(LedgerEvent.Type.ACCOUNT_REMOVED, account.getId());
+                        fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+                    }
+                }
+                case TRANSACTION_POSTED, TRANSACTION_RESTORED -> applyTransaction(entry);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Cannot apply mutation " + entry.getSequence() + ": " + e.getMessage());
+        }
+        saveDataToFile();
+    }
+
+    private void applyCustomer(MutationLogEntry entry) {
+        Customer customer = customerById(entry.getField(0));
+        boolean added = customer == null;
+        if (added) {
+            customer = new Customer(entry.getField(1), entry.getField(2), entry.getField(3));
+            customer.setId(entry.getField(0));
+            customers.add(customer);
+        } else {
+            customer.setName(entry.getField(1));
+            customer.setEmail(entry.getField(2));
+            customer.setPhone(entry.getField(3));
+        }
+        if (entry.getField(4) != null) {
+            customer.setVersion(Long.parseLong(entry.getField(4)));
+        }
+        publishChanges(customer, customer.getAccounts().toArray(new Account[0]));
+        fireCustomerEvent(added ? LedgerEvent.Type.CUSTOMER_ADDED : LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+    }
+
+    private void applyAccount(MutationLogEntry entry) {
+        if (accountById(entry.getField(0)) != null) return;
+        Account account = new Account(entry.getField(1), entry.getField(2), entry.getField(3));
+        account.setId(entry.getField(0));
+        account.setBalance(Double.parseDouble(entry.getField(4)));
+        if (entry.getField(5) != null) {
+            account.setVersion(Long.parseLong(entry.getField(5)));
+        }
+        accounts.add(account);
+        Customer owner = customerById(account.getCustomerId());
+        if (owner != null) {
+            owner.addAccount(account);
+            adjustBalance(account, account.getBalance());
+            publishChanges(owner, account);
+            fireAccountEvent(LedgerEvent.Type.ACCOUNT_ADDED, account);
+            fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, owner);
+        }
+    }
+
+    private void applyTransaction(MutationLogEntry entry) {
+        Transaction transaction = new Transaction(accountHandles, entry.getField(1), Double.parseDouble(entry.getField(2)),
+                entry.getField(3), entry.getField(4), new Date(Long.parseLong(entry.getField(5))));
+        transaction.setId(entry.getField(0));
+        if (transactionIds.contains(transaction)) return;
+        recordTransaction(transaction);
+        totals = totals.withPosting(transaction);
+
+        boolean posted = entry.getOperation() == MutationLogEntry.Operation.TRANSACTION_POSTED;
+        Account sendingAccount = accountById(transaction.getSendingAccountId());
+        if (sendingAccount != null) {
+            sendingAccount.getTransactions().add(transaction);
+            if (posted && entry.getField(6) != null) {
+                double previousBalance = sendingAccount.getBalance();
+                sendingAccount.setBalance(Double.parseDouble(entry.getField(6)));
+                adjustBalance(sendingAccount, sendingAccount.getBalance() - previousBalance);
+            }
+            if (posted && entry.getField(8) != null) {
+                sendingAccount.setVersion(Long.parseLong(entry.getField(8)));
+            }
+        }
+        Account receivingAccount = accountById(transaction.getReceivingAccountId());
+        if (receivingAccount != null && receivingAccount != sendingAccount) {
+            receivingAccount.getTransactions().add(transaction);
+            if (posted && entry.getField(7) != null) {
+                double previousBalance = receivingAccount.getBalance();
+                receivingAccount.setBalance(Double.parseDouble(entry.getField(7)));
+                adjustBalance(receivingAccount, receivingAccount.getBalance() - previousBalance);
+            }
+            if (posted && entry.getField(9) != null) {
+                receivingAccount.setVersion(Long.parseLong(entry.getField(9)));
+            }
+        }
+        if (posted) {
+            publishChanges(null, sendingAccount, receivingAccount);
+            firePosting(transaction, sendingAccount, receivingAccount == sendingAccount ? null : receivingAccount);
+        }
+    }
+
+    public synchronized void promoteToPrimary() {
+        if (persistent) return;
+        persistent = true;
+        saveDataToFile();
+        openMutationLog();
+        openBalanceSnapshots();
+        loadVelocityRules();
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public synchronized void beginBatch() {
+        batchDepth++;
+    }
+
+    public synchronized void commitBatch() {
+        if (batchDepth == 0) return;
+        batchDepth--;
+        if (batchDepth == 0 && saveDeferred) {
+            saveDeferred = false;
+            saveDataToFile();
+        }
+    }
+
     private void saveDataToFile() {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.MUTATION);
+        if (!persistent) return;
+        if (batchDepth > 0) {
+            saveDeferred = true;
+            return;
+        }
+        long start = System.nanoTime();
+        LedgerSaveEvent event = new LedgerSaveEvent();
+        event.begin();
+        boolean saved = false;
         try {
             customerFileHandler.saveData(customers);
+            trace.markFile(CUSTOMERS_FILE);
             transactionFileHandler.saveData(transactions);
+            trace.markFile(TRANSACTIONS_FILE);
             accountFileHandler.saveData(accounts);
+            trace.markFile(ACCOUNTS_FILE);
+            saved = true;
         } catch (FileReadException e) {
             System.err.println("Error saving data: " + e.getMessage());
+        } finally {
+            SAVE_LATENCY.recordSince(start);
+            event.complete(customers.size(), accounts.size(), transactions.size(), saved);
         }
     }
 
-    public List<Customer> getAllCustomers() {
+    public synchronized List<Customer> getAllCustomers() {
         return new ArrayList<>(customers);
     }
 
-    public List<Account> getAllAccounts() {
+    public synchronized List<Account> getAllAccounts() {
         return new ArrayList<>(accounts);
     }
 
+    public synchronized int getTransactionCount() {
+        return transactions.size();
+    }
+
 
     public Customer findCustomerById(String id) {
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.findCustomerById");
+        Customer result;
+        try {
+            result = lookupCustomerById(id);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        FIND_CUSTOMER_LATENCY.recordSince(start);
+        return result;
+    }
+
+    private synchronized Customer lookupCustomerById(String id) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
+        return customerById(id);
+    }
+
+    private Customer customerById(String id) {
         for (Customer customer: customers) {
             if (customer.getId().equals(id)) {
                 return customer;
@@ -94,6 +709,26 @@ public class TransactionService {
     }
 
     public Account findAccountById(String id) {
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.findAccountById");
+        Account result;
+        try {
+            result = lookupAccountById(id);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        FIND_ACCOUNT_LATENCY.recordSince(start);
+        return result;
+    }
+
+    private synchronized Account lookupAccountById(String id) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
+        return accountById(id);
+    }
+
+    private Account accountById(String id) {
+        if (id == null) return null;
         for (Customer customer : customers) {
             for (Account account: customer.getAccounts()) {
                 if (account.getId().equals(id)) {
@@ -105,6 +740,21 @@ public class TransactionService {
     }
 
     public Account FindAccountByNumber (String accountNumber) {
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.findAccountByNumber");
+        Account result;
+        try {
+            result = lookupAccountByNumber(accountNumber);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        FIND_ACCOUNT_BY_NUMBER_LATENCY.recordSince(start);
+        return result;
+    }
+
+    private synchronized Account lookupAccountByNumber(String accountNumber) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
         for (Customer customer: customers) {
             for (Account account: customer.getAccounts()) {
                 if (account.getAccountNum().equals(accountNumber)) {
@@ -116,19 +766,55 @@ public class TransactionService {
     }
 
     public boolean addCustomer(Customer customer) {
+        OperationTrace trace = OperationTrace.begin("service.addCustomer");
+        boolean added = false;
+        try {
+            added = insertCustomer(customer);
+        } finally {
+            trace.end(added);
+        }
+        return added;
+    }
+
+    private synchronized boolean insertCustomer(Customer customer) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
         if (customer == null) return false;
         customers.add(customer);
+        publishChanges(customer);
         saveDataToFile();
+        logMutation(MutationLogEntry.Operation.CUSTOMER_ADDED, customerFields(customer));
+        fireCustomerEvent(LedgerEvent.Type.CUSTOMER_ADDED, customer);
+        trace.mark(OperationTrace.Phase.EVENTS);
         return true;
     }
 
     public boolean updateCustomer(Customer customer) {
+        OperationTrace trace = OperationTrace.begin("service.updateCustomer");
+        boolean updated = false;
+        try {
+            updated = replaceCustomer(customer);
+        } finally {
+            trace.end(updated);
+        }
+        return updated;
+    }
+
+    private synchronized boolean replaceCustomer(Customer customer) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
         if (customer == null) return false;
         for (Customer person: customers) {
             if (person.getId().equals(customer.getId())) {
+                trace.mark(OperationTrace.Phase.LOOKUP);
                 int index = customers.indexOf(person);
+                customer.setVersion(person.getVersion() + 1);
                 customers.set(index, customer);
+                publishChanges(customer, customer.getAccounts().toArray(new Account[0]));
                 saveDataToFile();
+                logMutation(MutationLogEntry.Operation.CUSTOMER_UPDATED, customerFields(customer));
+                fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+                trace.mark(OperationTrace.Phase.EVENTS);
                 return true;
             }
 
@@ -136,56 +822,208 @@ public class TransactionService {
         return false;
     }
 
+    public boolean updateCustomer(Customer changes, long expectedVersion) throws VersionConflictException {
+        OperationTrace trace = OperationTrace.begin("service.updateCustomer");
+        boolean updated = false;
+        try {
+            updated = applyCustomerChanges(changes, expectedVersion);
+        } finally {
+            trace.end(updated);
+        }
+        return updated;
+    }
+
+    private synchronized boolean applyCustomerChanges(Customer changes, long expectedVersion) throws VersionConflictException {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        if (changes == null) return false;
+        Customer customer = customerById(changes.getId());
+        trace.mark(OperationTrace.Phase.LOOKUP);
+        if (customer == null) return false;
+        boolean current = customer.compareAndIncrementVersion(expectedVersion);
+        trace.mark(OperationTrace.Phase.VALIDATION);
+        if (!current) {
+            throw new VersionConflictException("Customer " + customer.getId() + " was modified by another session",
+                    expectedVersion, customer.getVersion());
+        }
+        customer.setName(changes.getName());
+        customer.setEmail(changes.getEmail());
+        customer.setPhone(changes.getPhone());
+        publishChanges(customer, customer.getAccounts().toArray(new Account[0]));
+        saveDataToFile();
+        logMutation(MutationLogEntry.Operation.CUSTOMER_UPDATED, customerFields(customer));
+        fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+        trace.mark(OperationTrace.Phase.EVENTS);
+        return true;
+    }
+
     public boolean deleteCustomer(String customerId) {
-        Customer customer = findCustomerById(customerId);
+        OperationTrace trace = OperationTrace.begin("service.deleteCustomer");
+        boolean deleted = false;
+        try {
+            deleted = removeCustomer(customerId);
+        } finally {
+            trace.end(deleted);
+        }
+        return deleted;
+    }
+
+    private synchronized boolean removeCustomer(String customerId) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Customer customer = customerById(customerId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
         if (customer != null) {
             customers.remove(customer);
             accounts.addAll(customer.getAccounts());
+            rebuildSnapshot();
             saveDataToFile();
+            logMutation(MutationLogEntry.Operation.CUSTOMER_DELETED, customerId);
+            fireRemoved(LedgerEvent.Type.CUSTOMER_REMOVED, customerId);
+            trace.mark(OperationTrace.Phase.EVENTS);
             return true;
         }
         return false;
     }
 
     public boolean addAccount(String customerId, Account account) {
-        System.out.println(customerId + " " + account.getAccountNum());
-        Customer customer = findCustomerById(customerId);
+        OperationTrace trace = OperationTrace.begin("service.addAccount");
+        boolean added = false;
+        try {
+            added = insertAccount(customerId, account);
+        } finally {
+            trace.end(added);
+        }
+        return added;
+    }
+
+    private synchronized boolean insertAccount(String customerId, Account account) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Customer customer = customerById(customerId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
         if (customer != null) {
             accounts.add(account);
             customer.addAccount(account);
+            adjustBalance(account, account.getBalance());
+            publishChanges(customer, account);
             saveDataToFile();
+            logMutation(MutationLogEntry.Operation.ACCOUNT_ADDED, accountFields(account));
+            fireAccountEvent(LedgerEvent.Type.ACCOUNT_ADDED, account);
+            fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+            trace.mark(OperationTrace.Phase.EVENTS);
             return true;
         }
         return false;
     }
 
     public boolean deleteAccount(String customerId, String accountId) {
-        Customer customer = findCustomerById(customerId);
+        OperationTrace trace = OperationTrace.begin("service.deleteAccount");
+        boolean deleted = false;
+        try {
+            deleted = removeAccount(customerId, accountId);
+        } finally {
+            trace.end(deleted);
+        }
+        return deleted;
+    }
+
+    private synchronized boolean removeAccount(String customerId, String accountId) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Customer customer = customerById(customerId);
+        if (customer == null) {
+            return false;
+        }
+        Account account = accountById(accountId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
+        if (account == null) {
+            return false;
+        }
+        return removeAccount(customer, account);
+    }
+
+    public boolean deleteAccount(String customerId, String accountId, long expectedVersion) throws VersionConflictException {
+        OperationTrace trace = OperationTrace.begin("service.deleteAccount");
+        boolean deleted = false;
+        try {
+            deleted = removeAccount(customerId, accountId, expectedVersion);
+        } finally {
+            trace.end(deleted);
+        }
+        return deleted;
+    }
+
+    private synchronized boolean removeAccount(String customerId, String accountId, long expectedVersion) throws VersionConflictException {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Customer customer = customerById(customerId);
         if (customer == null) {
             return false;
         }
-        Account account = findAccountById(accountId);
+        Account account = accountById(accountId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
         if (account == null) {
             return false;
         }
+        boolean current = account.getVersion() == expectedVersion;
+        trace.mark(OperationTrace.Phase.VALIDATION);
+        if (!current) {
+            throw new VersionConflictException("Account " + accountId + " was modified by another session",
+                    expectedVersion, account.getVersion());
+        }
+        return removeAccount(customer, account);
+    }
+
+    private boolean removeAccount(Customer customer, Account account) {
         customer.removeAccount(account);
-        accounts.remove(account); 
+        accounts.remove(account);
+        velocityRules.forget(account.getId());
+        rebuildSnapshot();
         saveDataToFile();
+        logMutation(MutationLogEntry.Operation.ACCOUNT_DELETED, customer.getId(), account.getId());
+        fireRemoved(LedgerEvent.Type.ACCOUNT_REMOVED, account.getId());
+        fireCustomerEvent(LedgerEvent.Type.CUSTOMER_UPDATED, customer);
+        OperationTrace.current().mark(OperationTrace.Phase.EVENTS);
         return true;
     }
 
     public boolean deposit(String accountId, double amount) {
-        Account account = findAccountById(accountId);
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.deposit");
+        PostingEvent event = new PostingEvent();
+        event.begin();
+        boolean posted = false;
+        try {
+            posted = postDeposit(accountId, amount);
+        } finally {
+            trace.end(posted);
+        }
+        DEPOSIT_LATENCY.recordSince(start);
+        event.complete("Deposit", accountId, null, amount, posted);
+        if (!posted) {
+            DEPOSITS_REJECTED.increment();
+        }
+        return posted;
+    }
+
+    private synchronized boolean postDeposit(String accountId, double amount) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Account account = accountById(accountId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
         if (account == null) return false;
         try {
             int initialSize = account.getTransactions().size();
-            account.deposit(amount);
-            List<Transaction> accountTransactions = account.getTransactions();
-            if (accountTransactions.size() > initialSize) {
-                Transaction newTransaction = accountTransactions.get(accountTransactions.size() - 1);
-                transactions.add(newTransaction);
-            }
+            double previousBalance = account.getBalance();
+            account.deposit(amount, accountHandles);
+            account.incrementVersion();
+            adjustBalance(account, account.getBalance() - previousBalance);
+            Transaction newTransaction = recordPostedSince(account, initialSize);
+            publishChanges(null, account);
             saveDataToFile();
+            firePosting(newTransaction, account);
+            trace.mark(OperationTrace.Phase.EVENTS);
             return true;
         } catch (IllegalArgumentException e) {
             System.err.println("Deposit error: " + e.getMessage());
@@ -194,19 +1032,48 @@ public class TransactionService {
     }
 
     public boolean withdraw(String accountId, double amount) {
-        Account account = findAccountById(accountId);
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.withdraw");
+        PostingEvent event = new PostingEvent();
+        event.begin();
+        boolean posted = false;
+        try {
+            posted = postWithdrawal(accountId, amount);
+        } finally {
+            trace.end(posted);
+        }
+        WITHDRAW_LATENCY.recordSince(start);
+        event.complete("Withdrawal", accountId, null, amount, posted);
+        if (!posted) {
+            WITHDRAWALS_REJECTED.increment();
+        }
+        return posted;
+    }
+
+    private synchronized boolean postWithdrawal(String accountId, double amount) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Account account = accountById(accountId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
         if (account == null) return false;
         try {
-            int initialSize = account.getTransactions().size()
-            account.withdraw(amount);
+            long now = System.currentTimeMillis();
+            boolean allowed = checkVelocity(account, VelocityRule.Operation.WITHDRAWAL, amount, now);
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            if (!allowed) return false;
+            int initialSize = account.getTransactions().size();
+            double previousBalance = account.getBalance();
+            account.withdraw(amount, accountHandles);
+            recordVelocity(account, VelocityRule.Operation.WITHDRAWAL, amount, now);
+            account.incrementVersion();
+            adjustBalance(account, account.getBalance() - previousBalance);
             
-            List<Transaction> accountTransactions = account.getTransactions();
-            if (accountTransactions.size() > initialSize) {
-                Transaction newTransaction = accountTransactions.get(accountTransactions.size() - 1);
-                transactions.add(newTransaction);
-            }
+            Transaction newTransaction = recordPostedSince(account, initialSize);
+            publishChanges(null, account);
             
             saveDataToFile();
+            firePosting(newTransaction, account);
+            trace.mark(OperationTrace.Phase.EVENTS);
             return true;
         } catch (InsufficientFundsException | IllegalArgumentException e) {
             System.err.println("Withdraw error: " + e.getMessage());
@@ -215,23 +1082,55 @@ public class TransactionService {
     }
 
     public boolean transfer(String sendingAccountId, String receivingAccountId, double amount) {
-        Account sendingAccount = findAccountById(sendingAccountId);
-        Account receivingAccount = findAccountById(receivingAccountId);
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.transfer");
+        PostingEvent event = new PostingEvent();
+        event.begin();
+        boolean posted = false;
+        try {
+            posted = postTransfer(sendingAccountId, receivingAccountId, amount);
+        } finally {
+            trace.end(posted);
+        }
+        TRANSFER_LATENCY.recordSince(start);
+        event.complete("Transfer", sendingAccountId, receivingAccountId, amount, posted);
+        if (!posted) {
+            TRANSFERS_REJECTED.increment();
+        }
+        return posted;
+    }
+
+    private synchronized boolean postTransfer(String sendingAccountId, String receivingAccountId, double amount) {
+        OperationTrace trace = OperationTrace.current();
+        trace.mark(OperationTrace.Phase.LOCK_WAIT);
+        Account sendingAccount = accountById(sendingAccountId);
+        Account receivingAccount = accountById(receivingAccountId);
+        trace.mark(OperationTrace.Phase.LOOKUP);
 
         if (sendingAccount == null || receivingAccount == null ) return false;
 
         try {
+            long now = System.currentTimeMillis();
+            boolean allowed = checkVelocity(sendingAccount, VelocityRule.Operation.TRANSFER, amount, now);
+            trace.mark(OperationTrace.Phase.VALIDATION);
+            if (!allowed) return false;
             int initialSize = sendingAccount.getTransactions().size();
+            double sendingBalance = sendingAccount.getBalance();
+            double receivingBalance = receivingAccount.getBalance();
             
-            sendingAccount.transfer(receivingAccount, amount);
+            sendingAccount.transfer(receivingAccount, amount, accountHandles);
+            recordVelocity(sendingAccount, VelocityRule.Operation.TRANSFER, amount, now);
+            sendingAccount.incrementVersion();
+            receivingAccount.incrementVersion();
+            adjustBalance(sendingAccount, sendingAccount.getBalance() - sendingBalance);
+            adjustBalance(receivingAccount, receivingAccount.getBalance() - receivingBalance);
             
-            List<Transaction> sendingAccountTransactions = sendingAccount.getTransactions();
-            if (sendingAccountTransactions.size() > initialSize) {
-                Transaction newTransaction = sendingAccountTransactions.get(sendingAccountTransactions.size() - 1);
-                transactions.add(newTransaction);
-            }
+            Transaction newTransaction = recordPostedSince(sendingAccount, initialSize);
+            publishChanges(null, sendingAccount, receivingAccount);
             
             saveDataToFile();
+            firePosting(newTransaction, sendingAccount, receivingAccount);
+            trace.mark(OperationTrace.Phase.EVENTS);
             return  true;
         } catch (InsufficientFundsException e) {
            System.err.println("Transfer error: " + e.getMessage());
@@ -239,49 +1138,301 @@ public class TransactionService {
         }
     }
 
- public List<Transaction> getTransactionsByAccount(String accountId) {
-    List<Transaction> sortedTransactions = new ArrayList<>();
-    List<String> addedTransactionIds = new ArrayList<>();
-    
-    for (Transaction transaction : transactions) {
-        if (addedTransactionIds.contains(transaction.getId())) {
-            continue;
+    public synchronized AccrualRun postAccruals(List<AccrualPosting> postings, Date postedAt) {
+        Map<String, Account> accountsById = new HashMap<>();
+        for (Account account : accounts()) {
+            accountsById.put(account.getId(), account);
+        }
+
+        List<String[]> logEntries = new ArrayList<>();
+        List<Transaction> posted = new ArrayList<>();
+        List<Account> postedAccounts = new ArrayList<>();
+        int interestPostings = 0;
+        int feePostings = 0;
+        int skipped = 0;
+        int alreadyAccrued = 0;
+        double totalInterest = 0.0;
+        double totalFees = 0.0;
+        YearMonth period = YearMonth.from(postedAt.toInstant().atZone(ZoneId.systemDefault()));
+        long periodStart = period.atDay(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long periodEnd = endOfDay(period.atEndOfMonth());
+
+        for (AccrualPosting posting : postings) {
+            Account account = accountsById.get(posting.getAccountId());
+            if (account == null) {
+                skipped++;
+                continue;
+            }
+            if (isAccrued(account.getId(), periodStart, periodEnd)) {
+                alreadyAccrued++;
+                continue;
+            }
+            if (account.getVersion() != posting.getAccountVersion()) {
+                posting = posting.forBalance(account.getVersion(), account.getBalance());
+            }
+            try {
+                if (posting.getInterest() > 0) {
+                    Transaction interest = account.creditInterest(posting.getInterest(), postedAt, accountHandles);
+                    account.incrementVersion();
+                    recordTransaction(interest);
+                    totals = totals.withPosting(interest);
+                    logEntries.add(postedTransactionFields(interest, account, null));
+                    posted.add(interest);
+                    postedAccounts.add(account);
+                    interestPostings++;
+                    totalInterest += posting.getInterest();
+                }
+                if (posting.getFee() > 0) {
+                    Transaction fee = account.chargeFee(posting.getFee(), postedAt, accountHandles);
+                    account.incrementVersion();
+                    recordTransaction(fee);
+                    totals = totals.withPosting(fee);
+                    logEntries.add(postedTransactionFields(fee, null, account));
+                    posted.add(fee);
+                    postedAccounts.add(account);
+                    feePostings++;
+                    totalFees += posting.getFee();
+                }
+            } catch (InsufficientFundsException | IllegalArgumentException e) {
+                System.err.println("Accrual error for account " + account.getId() + ": " + e.getMessage());
+                skipped++;
+            }
+        }
+
+        if (!posted.isEmpty()) {
+            rebuildSnapshot();
+            saveDataToFile();
+            if (mutationLog != null) {
+                try {
+                    mutationLog.appendAll(MutationLogEntry.Operation.TRANSACTION_POSTED, logEntries);
+                } catch (FileReadException e) {
+                    System.err.println("Error writing mutation log: " + e.getMessage());
+                }
+            }
+            for (int i = 0; i < posted.size(); i++) {
+                firePosting(posted.get(i), postedAccounts.get(i));
+            }
+        }
+        return new AccrualRun(postings.size(), interestPostings, feePostings, skipped, alreadyAccrued,
+                ProductTerms.roundToCents(totalInterest), ProductTerms.roundToCents(totalFees), 0, 0);
+    }
+
+    private boolean isAccrued(String accountId, long periodStart, long periodEnd) {
+        List<Transaction> history = accountHistory.get(accountId);
+        if (history == null) return false;
+        for (int i = history.size() - 1; i >= 0; i--) {
+            Transaction transaction = history.get(i);
+            long time = transaction.getTimeMillis();
+            if (time < periodStart) return false;
+            TransactionType type = transaction.getTransactionType();
+            if (time < periodEnd && (type == TransactionType.INTEREST || type == TransactionType.FEE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Transaction recordPostedSince(Account account, int initialSize) {
+        List<Transaction> accountTransactions = account.getTransactions();
+        if (accountTransactions.size() <= initialSize) return null;
+        Transaction newTransaction = accountTransactions.get(accountTransactions.size() - 1);
+        recordTransaction(newTransaction);
+        totals = totals.withPosting(newTransaction);
+        logPostedTransaction(newTransaction);
+        return newTransaction;
+    }
+
+    public List<Transaction> getTransactionsByAccount(String accountId) {
+        long start = System.nanoTime();
+        AccountHistoryEvent event = new AccountHistoryEvent();
+        event.begin();
+        OperationTrace trace = OperationTrace.begin("service.getTransactionsByAccount");
+        List<Transaction> result;
+        try {
+            result = copyAccountHistory(accountId);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        HISTORY_LATENCY.recordSince(start);
+        event.complete(accountId, result.size());
+        return result;
+    }
+
+    private synchronized List<Transaction> copyAccountHistory(String accountId) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
+        List<Transaction> history = accountHistory.get(accountId);
+        return history == null ? new ArrayList<>() : new ArrayList<>(history);
+    }
+
+    public TransactionPage getTransactionsPage(String accountId, TransactionCursor after, int limit) {
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.getTransactionsPage");
+        TransactionPage result;
+        try {
+            result = readHistoryPage(accountId, after, limit);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        HISTORY_PAGE_LATENCY.recordSince(start);
+        return result;
+    }
+
+    private synchronized TransactionPage readHistoryPage(String accountId, TransactionCursor after, int limit) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
+        List<Transaction> history = accountHistory.get(accountId);
+        if (history == null || limit <= 0) {
+            return new TransactionPage(new ArrayList<>(), after, false);
+        }
+
+        int start = 0;
+        if (after != null) {
+            int low = 0;
+            int high = history.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (after.compareTo(history.get(middle)) >= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            start = low;
+        }
+        int end = Math.min(history.size(), start + limit);
+        List<Transaction> page = new ArrayList<>(history.subList(start, end));
+        TransactionCursor nextCursor = page.isEmpty() ? after : TransactionCursor.after(page.get(page.size() - 1));
+        return new TransactionPage(page, nextCursor, end < history.size());
+    }
+
+    public synchronized int recordEndOfDayBalances(LocalDate date) throws FileReadException {
+        long dayEnd = endOfDay(date);
+        Map<String, Double> closingBalances = new HashMap<>();
+        for (Account account : accounts()) {
+            closingBalances.put(account.getId(), account.getBalance() - sumEffects(account.getId(), dayEnd, Long.MAX_VALUE));
+        }
+        balanceSnapshots.record(date, closingBalances);
+        return closingBalances.size();
+    }
+
+    public synchronized LocalDate getLatestBalanceSnapshotDate() {
+        return balanceSnapshots.getLatestDate();
+    }
+
+    public synchronized Double balanceAsOf(String accountId, LocalDate date) {
+        long dayEnd = endOfDay(date);
+        Map.Entry<LocalDate, Double> before = balanceSnapshots.floor(accountId, date);
+        if (before != null) {
+            return before.getValue() + sumEffects(accountId, endOfDay(before.getKey()), dayEnd);
+        }
+        Map.Entry<LocalDate, Double> after = balanceSnapshots.ceiling(accountId, date);
+        if (after != null) {
+            return after.getValue() - sumEffects(accountId, dayEnd, endOfDay(after.getKey()));
+        }
+        Account account = accountById(accountId);
+        if (account == null) return null;
+        return account.getBalance() - sumEffects(accountId, dayEnd, Long.MAX_VALUE);
+    }
+
+    private List<Account> accounts() {
+        List<Account> allAccounts = new ArrayList<>();
+        for (Customer customer : customers) {
+            allAccounts.addAll(customer.getAccounts());
         }
-        
-        if (transaction.getType().equals("Deposit") || transaction.getType().equals("Withdrawal")) {
-            String sendingId = transaction.getSendingAccountId();
-            if ((sendingId != null && sendingId.equals(accountId)) || 
-                (transaction.getType().equals("Withdrawal") && 
-                 transaction.getReceivingAccountId() != null && 
-                 transaction.getReceivingAccountId().equals(accountId))) {
-                sortedTransactions.add(transaction);
-                addedTransactionIds.add(transaction.getId());
+        return allAccounts;
+    }
+
+    public synchronized AccountHistorySlice historySlice(String accountId, long fromMillis, long toMillis) {
+        Integer slot = accountSlots.get(accountId);
+        if (slot == null) return null;
+        AccountView account = snapshot.getAccounts().get(slot);
+        double closingBalance = account.getBalance() - sumEffects(accountId, toMillis, Long.MAX_VALUE);
+        List<Transaction> entries = new ArrayList<>();
+        List<Transaction> history = accountHistory.get(accountId);
+        double periodNet = 0.0;
+        if (history != null) {
+            for (int i = firstAtOrAfter(history, fromMillis); i < history.size(); i++) {
+                Transaction transaction = history.get(i);
+                if (transaction.getTimeMillis() >= toMillis) break;
+                entries.add(transaction);
+                periodNet += transaction.getBalanceEffect(accountId);
             }
-        } else if (transaction.getType().equals("Transfer")) {
-            String sendingId = transaction.getSendingAccountId();
-            String receivingId = transaction.getReceivingAccountId();
-            if ((sendingId != null && sendingId.equals(accountId)) || 
-                (receivingId != null && receivingId.equals(accountId))) {
-                sortedTransactions.add(transaction);
-                addedTransactionIds.add(transaction.getId());
+        }
+        return new AccountHistorySlice(account, entries, closingBalance - periodNet, closingBalance);
+    }
+
+    private long endOfDay(LocalDate date) {
+        return date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private double sumEffects(String accountId, long fromMillis, long toMillis) {
+        List<Transaction> history = accountHistory.get(accountId);
+        if (history == null || fromMillis >= toMillis) return 0.0;
+        double sum = 0.0;
+        for (int i = firstAtOrAfter(history, fromMillis); i < history.size(); i++) {
+            Transaction transaction = history.get(i);
+            if (transaction.getTimeMillis() >= toMillis) break;
+            sum += transaction.getBalanceEffect(accountId);
+        }
+        return sum;
+    }
+
+    private int firstAtOrAfter(List<Transaction> history, long fromMillis) {
+        int low = 0;
+        int high = history.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (history.get(middle).getTimeMillis() < fromMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
             }
         }
+        return low;
+    }
+
+    public synchronized LedgerSnapshot forEachTransaction(Consumer<Transaction> consumer) {
+        for (Transaction transaction : transactions) {
+            consumer.accept(transaction);
+        }
+        return snapshot;
+    }
+
+    public synchronized Transaction[] copyTransactions() {
+        return transactions.toArray(new Transaction[0]);
     }
-    return sortedTransactions;
-}
 
     public List<Transaction> getTransactionByDateRange(Date startDate, Date endDate) {
+        long start = System.nanoTime();
+        OperationTrace trace = OperationTrace.begin("service.getTransactionByDateRange");
+        List<Transaction> result;
+        try {
+            result = collectDateRange(startDate, endDate);
+            trace.mark(OperationTrace.Phase.LOOKUP);
+        } finally {
+            trace.end(true);
+        }
+        DATE_RANGE_LATENCY.recordSince(start);
+        return result;
+    }
+
+    private synchronized List<Transaction> collectDateRange(Date startDate, Date endDate) {
+        OperationTrace.current().mark(OperationTrace.Phase.LOCK_WAIT);
         List<Transaction> sortedTransaction = new ArrayList<>();
+        long startMillis = startDate.getTime();
+        long endMillis = endDate.getTime();
         for (Transaction transaction: transactions) {
-            if (transaction.getTimeStamp().after(startDate) && transaction.getTimeStamp().before(endDate)) {
+            long timeMillis = transaction.getTimeMillis();
+            if (timeMillis > startMillis && timeMillis < endMillis) {
                 sortedTransaction.add(transaction);
             }
         }
         return  sortedTransaction;
     }
 
-    public List<Account> getAccountsByCustomerId(String customerId) {
-        Customer customer = findCustomerById(customerId);
+    public synchronized List<Account> getAccountsByCustomerId(String customerId) {
+        Customer customer = customerById(customerId);
         if (customer != null) {
             return new ArrayList<>(customer.getAccounts());
         }
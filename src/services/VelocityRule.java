@@ -0,0 +1,118 @@
+package services;
+
+import exceptions.InvalidDataException;
+
+public final class VelocityRule {
+    public enum Scope {
+        ACCOUNT,
+        CUSTOMER
+    }
+
+    public enum Operation {
+        WITHDRAWAL,
+        TRANSFER,
+        ANY
+    }
+
+    public enum Window {
+        HOUR(60L * 60 * 1000, 60),
+        DAY(24L * 60 * 60 * 1000, 24);
+
+        private final long millis;
+        private final int buckets;
+
+        Window(long millis, int buckets) {
+            this.millis = millis;
+            this.buckets = buckets;
+        }
+    }
+
+    private final Scope scope;
+    private final Operation operation;
+    private final Window window;
+    private final int maxCount;
+    private final long maxAmountCents;
+    private final boolean blocking;
+
+    public VelocityRule(Scope scope, Operation operation, Window window, int maxCount, double maxAmount, boolean blocking) {
+        this.scope = scope;
+        this.operation = operation;
+        this.window = window;
+        this.maxCount = maxCount;
+        this.maxAmountCents = Math.round(maxAmount * 100.0);
+        this.blocking = blocking;
+    }
+
+    public static VelocityRule parse(String line) throws InvalidDataException {
+        String[] data = line.split(",");
+        if (data.length < 6) {
+            throw new InvalidDataException("Velocity rule needs scope,operation,window,maxCount,maxAmount,action: " + line);
+        }
+        try {
+            return new VelocityRule(
+                    Scope.valueOf(data[0].trim().toUpperCase()),
+                    Operation.valueOf(data[1].trim().toUpperCase()),
+                    Window.valueOf(data[2].trim().toUpperCase()),
+                    Integer.parseInt(data[3].trim()),
+                    Double.parseDouble(data[4].trim()),
+                    data[5].trim().equalsIgnoreCase("BLOCK"));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidDataException("Invalid velocity rule: " + line);
+        }
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Window getWindow() {
+        return window;
+    }
+
+    public int getMaxCount() {
+        return maxCount;
+    }
+
+    public double getMaxAmount() {
+        return maxAmountCents / 100.0;
+    }
+
+    public boolean isBlocking() {
+        return blocking;
+    }
+
+    boolean appliesTo(Operation posted) {
+        return operation == Operation.ANY || operation == posted;
+    }
+
+    long bucketMillis() {
+        return window.millis / window.buckets;
+    }
+
+    int bucketCount() {
+        return window.buckets;
+    }
+
+    long maxAmountCents() {
+        return maxAmountCents;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        description.append(scope == Scope.ACCOUNT ? "per account" : "per customer")
+                .append(' ').append(operation == Operation.ANY ? "outgoing" : operation.name().toLowerCase())
+                .append(" per ").append(window.name().toLowerCase()).append(':');
+        if (maxCount > 0) {
+            description.append(" at most ").append(maxCount).append(" postings");
+        }
+        if (maxAmountCents > 0) {
+            description.append(maxCount > 0 ? "," : "").append(" at most $").append(String.format("%.2f", getMaxAmount()));
+        }
+        return description.append(blocking ? " (block)" : " (flag)").toString();
+    }
+}
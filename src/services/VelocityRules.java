@@ -0,0 +1,129 @@
+package services;
+
+import exceptions.FileReadException;
+import exceptions.InvalidDataException;
+import model.Account;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class VelocityRules {
+    private static final int MAX_RULES = Long.SIZE;
+
+    private final List<VelocityRule> rules = new ArrayList<>();
+    private final List<Map<String, VelocityWindow>> windows = new ArrayList<>();
+    private long blockingMask;
+
+    public static VelocityRules none() {
+        return new VelocityRules();
+    }
+
+    public static VelocityRules load(String fileName) throws FileReadException, InvalidDataException {
+        File file = new File(fileName);
+        if (!file.exists()) return none();
+
+        VelocityRules velocityRules = new VelocityRules();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                try {
+                    velocityRules.add(VelocityRule.parse(line));
+                } catch (InvalidDataException e) {
+                    throw new InvalidDataException(e.getMessage() + " at line " + lineNumber + " of " + fileName);
+                }
+            }
+        } catch (IOException e) {
+            throw new FileReadException("Error while reading file " + fileName + e.getMessage(), e);
+        }
+        return velocityRules;
+    }
+
+    public void add(VelocityRule rule) throws InvalidDataException {
+        if (rules.size() == MAX_RULES) {
+            throw new InvalidDataException("At most " + MAX_RULES + " velocity rules are supported");
+        }
+        if (rule.isBlocking()) {
+            blockingMask |= 1L << rules.size();
+        }
+        rules.add(rule);
+        windows.add(new HashMap<>());
+    }
+
+    public List<VelocityRule> getRules() {
+        return List.copyOf(rules);
+    }
+
+    public boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    long longestWindowMillis() {
+        long longest = 0;
+        for (VelocityRule rule : rules) {
+            longest = Math.max(longest, rule.bucketMillis() * rule.bucketCount());
+        }
+        return longest;
+    }
+
+    VelocityRule rule(int index) {
+        return rules.get(index);
+    }
+
+    boolean isBlocked(long hits) {
+        return (hits & blockingMask) != 0;
+    }
+
+    long evaluate(Account account, VelocityRule.Operation operation, double amount, long now) {
+        long hits = 0;
+        long amountCents = Math.round(amount * 100.0);
+        for (int i = 0; i < rules.size(); i++) {
+            VelocityRule rule = rules.get(i);
+            if (!rule.appliesTo(operation)) continue;
+            VelocityWindow window = windows.get(i).get(keyOf(rule, account));
+            int count = window == null ? 0 : window.countAt(now);
+            long cents = window == null ? 0 : window.amountCentsAt(now);
+            if ((rule.getMaxCount() > 0 && count + 1 > rule.getMaxCount())
+                    || (rule.maxAmountCents() > 0 && cents + amountCents > rule.maxAmountCents())) {
+                hits |= 1L << i;
+            }
+        }
+        return hits;
+    }
+
+    void record(Account account, VelocityRule.Operation operation, double amount, long now) {
+        long amountCents = Math.round(amount * 100.0);
+        for (int i = 0; i < rules.size(); i++) {
+            VelocityRule rule = rules.get(i);
+            if (!rule.appliesTo(operation)) continue;
+            Map<String, VelocityWindow> ruleWindows = windows.get(i);
+            String key = keyOf(rule, account);
+            VelocityWindow window = ruleWindows.get(key);
+            if (window == null) {
+                window = new VelocityWindow(rule.bucketMillis(), rule.bucketCount());
+                ruleWindows.put(key, window);
+            }
+            window.record(now, amountCents);
+        }
+    }
+
+    void forget(String accountId) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).getScope() == VelocityRule.Scope.ACCOUNT) {
+                windows.get(i).remove(accountId);
+            }
+        }
+    }
+
+    private String keyOf(VelocityRule rule, Account account) {
+        return rule.getScope() == VelocityRule.Scope.ACCOUNT ? account.getId() : account.getCustomerId();
+    }
+}
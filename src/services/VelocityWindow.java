@@ -0,0 +1,61 @@
+package services;
+
+import java.util.Arrays;
+
+final class VelocityWindow {
+    private final long bucketMillis;
+    private final int[] counts;
+    private final long[] amountsCents;
+    private long headBucket = Long.MIN_VALUE;
+    private int totalCount;
+    private long totalCents;
+
+    VelocityWindow(long bucketMillis, int buckets) {
+        this.bucketMillis = bucketMillis;
+        this.counts = new int[buckets];
+        this.amountsCents = new long[buckets];
+    }
+
+    int countAt(long now) {
+        advance(now);
+        return totalCount;
+    }
+
+    long amountCentsAt(long now) {
+        advance(now);
+        return totalCents;
+    }
+
+    void record(long now, long amountCents) {
+        advance(now);
+        int slot = slotOf(headBucket);
+        counts[slot]++;
+        amountsCents[slot] += amountCents;
+        totalCount++;
+        totalCents += amountCents;
+    }
+
+    private void advance(long now) {
+        long bucket = now / bucketMillis;
+        if (bucket <= headBucket) return;
+        if (headBucket == Long.MIN_VALUE || bucket - headBucket >= counts.length) {
+            Arrays.fill(counts, 0);
+            Arrays.fill(amountsCents, 0L);
+            totalCount = 0;
+            totalCents = 0;
+        } else {
+            for (long expired = headBucket + 1; expired <= bucket; expired++) {
+                int slot = slotOf(expired);
+                totalCount -= counts[slot];
+                totalCents -= amountsCents[slot];
+                counts[slot] = 0;
+                amountsCents[slot] = 0;
+            }
+        }
+        headBucket = bucket;
+    }
+
+    private int slotOf(long bucket) {
+        return (int) Math.floorMod(bucket, (long) counts.length);
+    }
+}
@@ -0,0 +1,29 @@
+package ui;
+
+import model.AccountView;
+
+public class AccountTableModel extends SnapshotTableModel<AccountView> {
+    public AccountTableModel() {
+        super("Id", "Account Number", "Customer Name", "Account Name", "Balance");
+    }
+
+    @Override
+    protected Object columnValue(AccountView account, int column) {
+        return switch (column) {
+            case 0 -> account.getId();
+            case 1 -> account.getAccountNum();
+            case 2 -> account.getCustomerName();
+            case 3 -> account.getName();
+            case 4 -> account.getBalance();
+            default -> null;
+        };
+    }
+
+    @Override
+    protected boolean matchesFilter(AccountView account, String filter) {
+        return account.getAccountNum().contains(filter)
+                || account.getCustomerName().toLowerCase().contains(filter)
+                || account.getName().toLowerCase().contains(filter)
+                || account.getId().startsWith(filter);
+    }
+}
@@ -0,0 +1,50 @@
+package ui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AnalyticsTableModel extends AbstractTableModel {
+    private final String[] columnNames;
+    private final List<Object[]> rows = new ArrayList<>();
+
+    public AnalyticsTableModel(String... columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    public void setRows(List<Object[]> newRows) {
+        rows.clear();
+        rows.addAll(newRows);
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return rows.isEmpty() ? Object.class : rows.get(0)[columnIndex].getClass();
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return rows.get(rowIndex)[columnIndex];
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+}
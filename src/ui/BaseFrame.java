@@ -6,8 +6,10 @@ import model.Customer;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.LineBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.JTableHeader;
+import javax.swing.table.TableModel;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -155,14 +157,28 @@ public abstract class BaseFrame extends JFrame {
         return field;
     }
 
-    protected JPanel createTablePanel(DefaultTableModel model, JTable table) {
+    protected JPanel createTablePanel(TableModel model, JTable table) {
         table.setModel(model);
         table.setFont(TABLE_FONT);
         table.setRowHeight(30);
         table.setShowGrid(true);
         table.setGridColor(new Color(230, 230, 230));
-        table.setAutoCreateRowSorter(true);
         JTableHeader header = table.getTableHeader();
+        if (model instanceof SnapshotTableModel<?> snapshotModel) {
+            table.setAutoCreateRowSorter(false);
+            table.setRowSorter(null);
+            header.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int column = table.convertColumnIndexToModel(header.columnAtPoint(e.getPoint()));
+                    if (column >= 0) {
+                        snapshotModel.sortBy(column);
+                    }
+                }
+            });
+        } else {
+            table.setAutoCreateRowSorter(true);
+        }
         header.setFont(TABLE_HEADER_FONT);
         header.setBackground(TEXT_COLOR);
         header.setBorder(new EmptyBorder(5, 5, 5, 5));
@@ -188,9 +204,9 @@ public abstract class BaseFrame extends JFrame {
             Runnable handleAddAccounts,
             Runnable handleAccountOperations,
             Runnable handleRemoveAccount,
-            DefaultTableModel customerTableModel,
+            SnapshotTableModel<?> customerTableModel,
             JTable customerTable,
-            DefaultTableModel accountTableModel,
+            SnapshotTableModel<?> accountTableModel,
             JTable accountTable
     ) {
         JTabbedPane tabbedPane = new JTabbedPane();
@@ -207,14 +223,13 @@ public abstract class BaseFrame extends JFrame {
         return tabbedPane;
     }
 
-    protected JPanel createCustomerPanel(Runnable handleAddCustomer, DefaultTableModel model, JTable table, Runnable handleEditCustomer, Runnable handleRemoveCustomer) {  // Fixed parameter order
+    protected JPanel createCustomerPanel(Runnable handleAddCustomer, SnapshotTableModel<?> model, JTable table, Runnable handleEditCustomer, Runnable handleRemoveCustomer) {  // Fixed parameter order
         JPanel customerPanel = new JPanel(new BorderLayout(0, 15));
         customerPanel.setBackground(SECONDARY_COLOR);
         customerPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
         table.setModel(model);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        JScrollPane scrollPane = new JScrollPane(table);
-        customerPanel.add(scrollPane, BorderLayout.CENTER);
+        customerPanel.add(createFilterPanel(model), BorderLayout.NORTH);
         JPanel tablePanel = createTablePanel(model, table);
         tablePanel.setName("customerTablePanel");
         customerPanel.add(tablePanel, BorderLayout.CENTER);
@@ -225,13 +240,14 @@ public abstract class BaseFrame extends JFrame {
         return customerPanel;
     }
 
-    protected JPanel createAccountsPanel(DefaultTableModel accountTableModel, JTable accountTable, 
+    protected JPanel createAccountsPanel(SnapshotTableModel<?> accountTableModel, JTable accountTable, 
         Runnable handleAddAccount, Runnable handleAccountOperations, Runnable handleRemoveAccount) {
     JPanel accountPanel = new JPanel(new BorderLayout(0, 15));
     accountPanel.setBackground(SECONDARY_COLOR);
     accountPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
     accountTable.setModel(accountTableModel);
     accountTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    accountPanel.add(createFilterPanel(accountTableModel), BorderLayout.NORTH);
     JPanel tablePanel = createTablePanel(accountTableModel, accountTable);
     tablePanel.setName("accountTablePanel");
     accountPanel.add(tablePanel, BorderLayout.CENTER);
@@ -242,6 +258,32 @@ public abstract class BaseFrame extends JFrame {
     return accountPanel;
 }
 
+    protected JPanel createFilterPanel(SnapshotTableModel<?> model) {
+        JPanel filterPanel = new JPanel(new BorderLayout(10, 0));
+        filterPanel.setBackground(SECONDARY_COLOR);
+        filterPanel.setBorder(new EmptyBorder(0, 20, 0, 20));
+        JTextField filterField = createTextField();
+        filterField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                model.setFilter(filterField.getText());
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                model.setFilter(filterField.getText());
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                model.setFilter(filterField.getText());
+            }
+        });
+        filterPanel.add(createLabel("Search:", 14, Font.PLAIN), BorderLayout.WEST);
+        filterPanel.add(filterField, BorderLayout.CENTER);
+        return filterPanel;
+    }
+
     protected void showMessage(String message, String title, int messageType) {
         UIManager.put("Button.foreground", Color.BLACK);
         UIManager.put("OptionPane.background", SECONDARY_COLOR);
@@ -0,0 +1,30 @@
+package ui;
+
+import model.CustomerView;
+
+public class CustomerTableModel extends SnapshotTableModel<CustomerView> {
+    public CustomerTableModel() {
+        super("Id", "Name", "Email", "Phone", "Accounts", "Balance");
+    }
+
+    @Override
+    protected Object columnValue(CustomerView customer, int column) {
+        return switch (column) {
+            case 0 -> customer.getId();
+            case 1 -> customer.getName();
+            case 2 -> customer.getEmail();
+            case 3 -> customer.getPhone();
+            case 4 -> customer.getAccountsCount();
+            case 5 -> customer.getTotalBalance();
+            default -> null;
+        };
+    }
+
+    @Override
+    protected boolean matchesFilter(CustomerView customer, String filter) {
+        return customer.getName().toLowerCase().contains(filter)
+                || customer.getEmail().toLowerCase().contains(filter)
+                || customer.getPhone().contains(filter)
+                || customer.getId().startsWith(filter);
+    }
+}
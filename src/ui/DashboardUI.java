@@ -1,45 +1,139 @@
 package ui;
 
 import controllers.DashboardController;
+import exceptions.VersionConflictException;
 import model.Account;
+import model.AccountView;
 import model.Customer;
+import model.CustomerView;
+import model.TransactionType;
+import services.LedgerSnapshot;
+import services.LedgerTotals;
+import services.TransactionAnalysis;
 import services.TransactionService;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class DashboardUI extends BaseFrame {
+    private static final String TABLE_CARD = "table";
+    private static final String EMPTY_CARD = "empty";
+    private static final int TOP_ACCOUNTS = 100;
     private TransactionService transactionService;
     private DashboardController controller;
     private JTable customerTable;
-    private DefaultTableModel customerTableModel;
+    private CustomerTableModel customerTableModel;
     private JTable accountTable;
-    private DefaultTableModel accountTableModel;
+    private AccountTableModel accountTableModel;
     private JPanel customerMessagePanel;
     private JPanel accountMessagePanel;
+    private JPanel customerTableContainer;
+    private JPanel accountTableContainer;
+    private JTabbedPane tabbedPanel;
+    private JLabel totalBalanceLabel;
+    private JLabel accountCountLabel;
+    private JLabel customerCountLabel;
+    private JLabel inflowLabel;
+    private JLabel outflowLabel;
+    private JLabel velocityAlertLabel;
+    private int velocityAlerts;
+    private final AnalyticsTableModel topAccountsModel =
+            new AnalyticsTableModel("Rank", "Account Number", "Customer", "Volume", "Postings");
+    private final AnalyticsTableModel amountHistogramModel =
+            new AnalyticsTableModel("Amount", "Deposit", "Withdrawal", "Transfer", "Interest", "Fee", "Total");
+    private final AnalyticsTableModel dailyCountsModel =
+            new AnalyticsTableModel("Date", "Deposit", "Withdrawal", "Transfer", "Interest", "Fee", "Total");
+    private JLabel analyticsStatusLabel;
+    private final AnalyticsTableModel operationMetricsModel =
+            new AnalyticsTableModel("Operation", "Rate (/s)", "p99 (ms)", "Mean (ms)", "Count", "Rejected");
+    private final AnalyticsTableModel storageMetricsModel =
+            new AnalyticsTableModel("File", "Size (KB)", "Last Save (ms)", "Save p99 (ms)", "Saves", "Load (ms)");
+    private JLabel heapLabel;
+    private JLabel entityCountLabel;
+    private MetricsSampler metricsSampler;
+    private long displayedVersion;
+    private final UITaskRunner taskRunner = new UITaskRunner(this::showErrorMessage);
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler(this::applyRefresh);
 
     public DashboardUI() {
+        this(null);
+    }
+
+    public DashboardUI(TransactionService transactionService) {
         super("Admin Dashboard");
         init();
+        if (transactionService == null) {
+            taskRunner.submitRequired("Loading ledger...", TransactionService::new, this::onServiceReady,
+                    this::onServiceFailed, tabbedPanel);
+        } else {
+            onServiceReady(transactionService);
+        }
+    }
+
+    private void onServiceReady(TransactionService transactionService) {
+        this.transactionService = transactionService;
         initializeController();
+        transactionService.getEventBus().subscribe(refreshScheduler);
+        metricsSampler = new MetricsSampler(transactionService, this::showMetrics);
+        metricsSampler.start();
         loadCustomers();
         loadAccounts();
     }
 
+    private void onServiceFailed(Exception e) {
+        System.err.println("Failed to load the ledger: " + e.getMessage());
+        showErrorMessage("Failed to load the ledger: " + e.getMessage());
+        handleLogout();
+    }
+
+    private void applyRefresh(RefreshBatch batch) {
+        updateVelocityAlerts(batch.getVelocityAlerts());
+        LedgerSnapshot snapshot = batch.getLatestSnapshot();
+        if (snapshot.getVersion() < displayedVersion) return;
+        displayedVersion = snapshot.getVersion();
+        boolean renamed = batch.hasRemovedCustomers() || hasRenamedCustomer(snapshot.getCustomers(), batch.getCustomerRows());
+        if (batch.hasRemovedCustomers()) {
+            customerTableModel.setRows(snapshot.getCustomers());
+        } else {
+            customerTableModel.applyChanges(snapshot.getCustomers(), batch.getCustomerRows());
+        }
+        if (batch.hasRemovedAccounts()) {
+            accountTableModel.setRows(snapshot.getAccounts());
+        } else if (renamed) {
+            accountTableModel.refreshRows(snapshot.getAccounts());
+        } else {
+            accountTableModel.applyChanges(snapshot.getAccounts(), batch.getAccountRows());
+        }
+        showTableOrMessage(customerTableContainer, snapshot.getCustomerCount() == 0);
+        showTableOrMessage(accountTableContainer, snapshot.getAccountCount() == 0);
+        updateSummary(snapshot);
+    }
+
+    private boolean hasRenamedCustomer(List<CustomerView> customers, BitSet changedRows) {
+        int displayed = customerTableModel.getTotalRowCount();
+        for (int i = changedRows.nextSetBit(0); i >= 0 && i < displayed; i = changedRows.nextSetBit(i + 1)) {
+            if (i >= customers.size() || !customerTableModel.getSnapshotRow(i).getName().equals(customers.get(i).getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void setupUI() {
         setSize(800, 600);
-        transactionService = new TransactionService();
         JPanel headerPanel = createHeaderPanel(this::handleLogout);
-        customerTableModel = new DefaultTableModel(new Object[]{"Id", "Name", "Email", "Phone", "Accounts"}, 0);
+        customerTableModel = new CustomerTableModel();
         customerTable = new JTable(customerTableModel);
-        accountTableModel = new DefaultTableModel(new Object[]{"Id", "Account Number", "Customer Name", "Account Name", "Balance"}, 0);
+        accountTableModel = new AccountTableModel();
         accountTable = new JTable(accountTableModel);
         customerMessagePanel = createMessagePanel("No customers found. Please add a customer.");
         accountMessagePanel = createMessagePanel("No accounts found. Please add an account.");
-        JTabbedPane tabbedPanel = createTabbedPane(
+        tabbedPanel = createTabbedPane(
                 this::handleAddCustomer,
                 this::handleEditCustomer,
                 this::handleRemoveCustomer,
@@ -51,107 +145,194 @@ public class DashboardUI extends BaseFrame {
                 accountTableModel,
                 accountTable
         );
+        customerTableContainer = installEmptyState(tabbedPanel, 0, "customerTablePanel", customerMessagePanel);
+        accountTableContainer = installEmptyState(tabbedPanel, 1, "accountTablePanel", accountMessagePanel);
+        tabbedPanel.addTab("Analytics", createAnalyticsPanel());
+        tabbedPanel.addTab("Metrics", createMetricsPanel());
+        JPanel northPanel = new JPanel(new BorderLayout());
+        northPanel.add(headerPanel, BorderLayout.NORTH);
+        northPanel.add(createSummaryPanel(), BorderLayout.SOUTH);
         mainPanel = new JPanel(new BorderLayout());
-        mainPanel.add(headerPanel, BorderLayout.NORTH);
+        mainPanel.add(northPanel, BorderLayout.NORTH);
         mainPanel.add(tabbedPanel, BorderLayout.CENTER);
+        mainPanel.add(taskRunner.getStatusPanel(), BorderLayout.SOUTH);
         add(mainPanel);
     }
 
+    private JPanel createAnalyticsPanel() {
+        JPanel analyticsPanel = new JPanel(new BorderLayout(0, 15));
+        analyticsPanel.setBackground(SECONDARY_COLOR);
+        analyticsPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        analyticsStatusLabel = createLabel("Run the analysis to summarize the transaction history.", 13, Font.PLAIN);
+        analyticsPanel.add(analyticsStatusLabel, BorderLayout.NORTH);
+        JTabbedPane reports = new JTabbedPane();
+        reports.addTab("Top Accounts", createTablePanel(topAccountsModel, new JTable()));
+        reports.addTab("Amount Distribution", createTablePanel(amountHistogramModel, new JTable()));
+        reports.addTab("Daily Breakdown", createTablePanel(dailyCountsModel, new JTable()));
+        analyticsPanel.add(reports, BorderLayout.CENTER);
+        analyticsPanel.add(createButtonPanel(new String[]{"Run Analysis"}, new Runnable[]{this::handleRunAnalysis}),
+                BorderLayout.SOUTH);
+        return analyticsPanel;
+    }
+
+    private void handleRunAnalysis() {
+        if (controller == null) return;
+        taskRunner.submit("Analyzing transactions...", () -> controller.analyzeTransactions(TOP_ACCOUNTS),
+                this::showAnalysis, tabbedPanel);
+    }
+
+    private void showAnalysis(TransactionAnalysis analysis) {
+        List<Object[]> topRows = new ArrayList<>();
+        int rank = 1;
+        for (TransactionAnalysis.AccountVolume account : analysis.getTopAccounts()) {
+            topRows.add(new Object[]{rank++, account.getAccountNumber(), account.getCustomerName(),
+                    account.getVolume(), account.getPostings()});
+        }
+        topAccountsModel.setRows(topRows);
+
+        int types = TransactionType.values().length;
+        List<Object[]> histogramRows = new ArrayList<>();
+        for (int bucket = 0; bucket <= TransactionAnalysis.AMOUNT_BOUNDS.length; bucket++) {
+            Object[] row = new Object[types + 2];
+            row[0] = TransactionAnalysis.bucketLabel(bucket);
+            for (int type = 0; type < types; type++) {
+                row[type + 1] = analysis.getHistogramCount(type, bucket);
+            }
+            row[types + 1] = analysis.getHistogramCount(bucket);
+            histogramRows.add(row);
+        }
+        amountHistogramModel.setRows(histogramRows);
+
+        List<Object[]> dailyRows = new ArrayList<>();
+        for (TransactionAnalysis.DailyCounts day : analysis.getDailyCounts()) {
+            Object[] row = new Object[types + 2];
+            row[0] = day.getDate().toString();
+            for (int type = 0; type < types; type++) {
+                row[type + 1] = day.getCount(type);
+            }
+            row[types + 1] = day.getTotal();
+            dailyRows.add(row);
+        }
+        dailyCountsModel.setRows(dailyRows);
+
+        analyticsStatusLabel.setText(String.format("Analyzed %,d transactions in %d ms",
+                analysis.getTransactionCount(), analysis.getElapsedMillis()));
+    }
+
+    private JPanel createMetricsPanel() {
+        JPanel metricsPanel = new JPanel(new BorderLayout(0, 15));
+        metricsPanel.setBackground(SECONDARY_COLOR);
+        metricsPanel.setBorder(new EmptyBorder(20, 20, 20, 20));
+        JPanel statusPanel = new JPanel(new GridLayout(1, 2, 15, 0));
+        statusPanel.setOpaque(false);
+        heapLabel = createLabel("Heap: -", 13, Font.PLAIN);
+        entityCountLabel = createLabel("Entities: -", 13, Font.PLAIN);
+        statusPanel.add(heapLabel);
+        statusPanel.add(entityCountLabel);
+        metricsPanel.add(statusPanel, BorderLayout.NORTH);
+        JTabbedPane reports = new JTabbedPane();
+        reports.addTab("Operations", createTablePanel(operationMetricsModel, new JTable()));
+        reports.addTab("Storage", createTablePanel(storageMetricsModel, new JTable()));
+        metricsPanel.add(reports, BorderLayout.CENTER);
+        return metricsPanel;
+    }
+
+    private void showMetrics(MetricsSample sample) {
+        operationMetricsModel.setRows(sample.getOperationRows());
+        storageMetricsModel.setRows(sample.getStorageRows());
+        heapLabel.setText(String.format("Heap: %,d MB used of %,d MB",
+                sample.getHeapUsedBytes() >> 20, sample.getHeapMaxBytes() >> 20));
+        entityCountLabel.setText(String.format("Entities: %,d customers, %,d accounts, %,d transactions",
+                sample.getCustomerCount(), sample.getAccountCount(), sample.getTransactionCount()));
+    }
+
+    private JPanel createSummaryPanel() {
+        JPanel summaryPanel = new JPanel(new GridLayout(1, 6, 15, 0));
+        summaryPanel.setBackground(SECONDARY_COLOR);
+        summaryPanel.setBorder(new EmptyBorder(10, 20, 10, 20));
+        totalBalanceLabel = addSummaryItem(summaryPanel, "Total Deposits");
+        accountCountLabel = addSummaryItem(summaryPanel, "Accounts");
+        customerCountLabel = addSummaryItem(summaryPanel, "Customers");
+        inflowLabel = addSummaryItem(summaryPanel, "Today's Inflow");
+        outflowLabel = addSummaryItem(summaryPanel, "Today's Outflow");
+        velocityAlertLabel = addSummaryItem(summaryPanel, "Velocity Alerts");
+        velocityAlertLabel.setText("0");
+        return summaryPanel;
+    }
+
+    private JLabel addSummaryItem(JPanel summaryPanel, String title) {
+        JPanel item = new JPanel(new BorderLayout());
+        item.setOpaque(false);
+        item.add(createLabel(title, 12, Font.PLAIN), BorderLayout.NORTH);
+        JLabel valueLabel = createLabel("-", 16, Font.BOLD);
+        valueLabel.setForeground(PRIMARY_COLOR);
+        item.add(valueLabel, BorderLayout.CENTER);
+        summaryPanel.add(item);
+        return valueLabel;
+    }
+
+    private void updateSummary(LedgerSnapshot snapshot) {
+        LedgerTotals totals = snapshot.getTotals();
+        LocalDate today = LocalDate.now();
+        totalBalanceLabel.setText(String.format("$%,.2f", totals.getTotalBalance()));
+        accountCountLabel.setText(String.valueOf(snapshot.getAccountCount()));
+        customerCountLabel.setText(String.valueOf(snapshot.getCustomerCount()));
+        inflowLabel.setText(String.format("$%,.2f", totals.getInflowOn(today)));
+        outflowLabel.setText(String.format("$%,.2f", totals.getOutflowOn(today)));
+    }
+
+    private void updateVelocityAlerts(List<String> alerts) {
+        if (alerts.isEmpty()) return;
+        velocityAlerts += alerts.size();
+        velocityAlertLabel.setText(String.valueOf(velocityAlerts));
+        velocityAlertLabel.setToolTipText(alerts.get(alerts.size() - 1));
+    }
+
     private void initializeController() {
         controller = new DashboardController(transactionService);
     }
 
-    private void loadCustomers() {
-        customerTableModel.setRowCount(0);
-        List<Customer> customers = controller.getAllCustomers();
-
-        JTabbedPane tabbedPane = (JTabbedPane) mainPanel.getComponent(1);
-        JPanel customerPanel = (JPanel) tabbedPane.getComponentAt(0);
-        
-        Component[] components = customerPanel.getComponents();
+    private JPanel installEmptyState(JTabbedPane tabbedPane, int tabIndex, String panelName, JPanel messagePanel) {
+        JPanel tabPanel = (JPanel) tabbedPane.getComponentAt(tabIndex);
         JPanel tableContainer = null;
-        for (Component comp : components) {
-            if (comp instanceof JPanel && comp.getName() != null && comp.getName().equals("customerTablePanel")) {
+        for (Component comp : tabPanel.getComponents()) {
+            if (comp instanceof JPanel && panelName.equals(comp.getName())) {
                 tableContainer = (JPanel) comp;
+                break;
             }
         }
         if (tableContainer == null) {
-            tableContainer = (JPanel) customerPanel.getComponent(0);
-        }
-        tableContainer.removeAll(); 
-        if (customers.isEmpty()) {
-            tableContainer.add(customerMessagePanel, BorderLayout.CENTER);
-        } else {
-            for (Customer customer : customers) {
-                customerTableModel.addRow(new Object[]{
-                        customer.getId(),
-                        customer.getName(),
-                        customer.getEmail(),
-                        customer.getPhone(),
-                        customer.getAccountsCount()
-                });
-            }
-            
-            JScrollPane scrollPane = new JScrollPane(customerTable);
-            tableContainer.add(scrollPane, BorderLayout.CENTER);
+            tableContainer = (JPanel) tabPanel.getComponent(0);
         }
+        Component scrollPane = tableContainer.getComponent(0);
+        tableContainer.removeAll();
+        tableContainer.setLayout(new CardLayout());
+        tableContainer.add(scrollPane, TABLE_CARD);
+        tableContainer.add(messagePanel, EMPTY_CARD);
+        return tableContainer;
+    }
+
+    private void showTableOrMessage(JPanel tableContainer, boolean empty) {
+        ((CardLayout) tableContainer.getLayout()).show(tableContainer, empty ? EMPTY_CARD : TABLE_CARD);
+    }
+
+    private void loadCustomers() {
+        LedgerSnapshot snapshot = controller.getSnapshot();
+        displayedVersion = Math.max(displayedVersion, snapshot.getVersion());
+        customerTableModel.setRows(snapshot.getCustomers());
+        showTableOrMessage(customerTableContainer, snapshot.getCustomerCount() == 0);
+        updateSummary(snapshot);
         refreshCustomerTable();
     }
 
     private void loadAccounts() {
         try {
-            accountTableModel.setRowCount(0);
-    
-            List<Customer> customers = controller.getAllCustomers();
-            
-            JTabbedPane tabbedPane = (JTabbedPane) mainPanel.getComponent(1);
-            JPanel accountPanel = (JPanel) tabbedPane.getComponentAt(1); // Accounts tab
-            
-            Component[] components = accountPanel.getComponents();
-            JPanel tableContainer = null;
-            for (Component comp : components) {
-                if (comp instanceof JPanel && comp.getName() != null && comp.getName().equals("accountTablePanel")) {
-                    tableContainer = (JPanel) comp;
-                    break;
-                }
-            }
-            
-            if (tableContainer == null) {
-                tableContainer = (JPanel) accountPanel.getComponent(0);
-            }
-            
-            tableContainer.removeAll(); 
-            
-            boolean hasAccounts = false;
-            
-            for (Customer customer : customers) {
-                if (!customer.getAccounts().isEmpty()) {
-                    for (Account account : customer.getAccounts()) {
-                        accountTableModel.addRow(new Object[]{
-                                account.getId(),
-                                account.getAccountNum(),
-                                customer.getName(),
-                                account.getName(),
-                                account.getBalance()
-                        });
-                        hasAccounts = true;
-                    }
-                }
-            }
-            
-            if (!hasAccounts) {
-                tableContainer.add(accountMessagePanel, BorderLayout.CENTER);
-            } else {
-                JScrollPane scrollPane = new JScrollPane(accountTable);
-                tableContainer.add(scrollPane, BorderLayout.CENTER);
-            }
-            
-            SwingUtilities.invokeLater(() -> {
-                if (mainPanel != null) {
-                    mainPanel.revalidate();
-                    mainPanel.repaint();
-                }
-            });
+            LedgerSnapshot snapshot = controller.getSnapshot();
+            displayedVersion = Math.max(displayedVersion, snapshot.getVersion());
+            accountTableModel.setRows(snapshot.getAccounts());
+            showTableOrMessage(accountTableContainer, snapshot.getAccountCount() == 0);
+            updateSummary(snapshot);
+            refreshAccountTable();
             
             System.out.println("Loaded accounts, table has " + accountTableModel.getRowCount() + " rows");
         } catch (Exception e) {
@@ -185,12 +366,13 @@ private void handleAddCustomer() {
             return;
         }
 
-        if (controller.addCustomer(name, email, phone)) {
-            showInfoMessage("Customer added successfully");
-            loadCustomers();
-        } else {
-            showErrorMessage("Failed to add customer");
-        }
+        taskRunner.submit("Adding customer...", () -> controller.addCustomer(name, email, phone), added -> {
+            if (added) {
+                showInfoMessage("Customer added successfully");
+            } else {
+                showErrorMessage("Failed to add customer");
+            }
+        }, tabbedPanel);
     }
 }
 
@@ -202,14 +384,14 @@ private void handleEditCustomer() {
         return;
     }
 
-    String customerId = customerTable.getValueAt(selectedRow, 0).toString();
-    Customer customer = controller.findCustomerById(customerId);
-
-    if (customer == null) {
+    CustomerView customer = customerTableModel.getRow(selectedRow);
+    String customerId = customer.getId();
+    if (controller.findCustomerById(customerId) == null) {
         showErrorMessage("Customer not found");
         return;
     }
 
+    long customerVersion = customer.getVersion();
     JTextField nameField = new JTextField(customer.getName(), 15);
     JTextField emailField = new JTextField(customer.getEmail(), 15);
     JTextField phoneField = new JTextField(customer.getPhone(), 15);
@@ -234,12 +416,25 @@ private void handleEditCustomer() {
             return;
         }
 
-        if (controller.updateCustomer(customerId, name, email, phone)) {
-            showInfoMessage("Customer updated successfully");
-            loadCustomers();
-        } else {
-            showErrorMessage("Failed to update customer");
-        }
+        taskRunner.submit("Updating customer...",
+                () -> controller.updateCustomer(customerId, customerVersion, name, email, phone),
+                updated -> {
+                    if (updated) {
+                        showInfoMessage("Customer updated successfully");
+                    } else {
+                        showErrorMessage("Failed to update customer");
+                    }
+                },
+                e -> {
+                    if (e instanceof VersionConflictException) {
+                        showErrorMessage("This customer was changed by another operator while you were editing. " +
+                                "Your changes were not saved; please review the latest details and try again.");
+                        loadCustomers();
+                    } else {
+                        showErrorMessage("Failed to update customer: " + e.getMessage());
+                    }
+                },
+                tabbedPanel);
     }
 }
 
@@ -259,12 +454,13 @@ private void handleRemoveCustomer() {
 
     int confirm = showConfirmDialog("Do you want to remove this customer?");
     if (confirm == JOptionPane.YES_OPTION) {
-        if (controller.removeCustomer(customerId)) {
-            showInfoMessage("Customer removed successfully");
-            loadCustomers();
-        } else {
-            showErrorMessage("Failed to remove customer");
-        }
+        taskRunner.submit("Removing customer...", () -> controller.removeCustomer(customerId), removed -> {
+            if (removed) {
+                showInfoMessage("Customer removed successfully");
+            } else {
+                showErrorMessage("Failed to remove customer");
+            }
+        }, tabbedPanel);
     }
 }
 
@@ -309,19 +505,15 @@ private void handleAddAccount() {
         }
         try {
             double initialDeposit = Double.parseDouble(initialDepositStr);
-            if (controller.addAccount(selectedCustomer.getId(), accountName, initialDeposit)) {
-                showInfoMessage("Account added successfully");
-                JTabbedPane tabbedPane = (JTabbedPane) mainPanel.getComponent(1);
-                tabbedPane.setSelectedIndex(1); 
-                loadCustomers();
-                loadAccounts();
-                SwingUtilities.invokeLater(() -> {
-                    mainPanel.revalidate();
-                    mainPanel.repaint();
-                });
-            } else {
-                showErrorMessage("Failed to add account");
-            }
+            String customerId = selectedCustomer.getId();
+            taskRunner.submit("Adding account...", () -> controller.addAccount(customerId, accountName, initialDeposit), added -> {
+                if (added) {
+                    showInfoMessage("Account added successfully");
+                    tabbedPanel.setSelectedIndex(1); 
+                } else {
+                    showErrorMessage("Failed to add account");
+                }
+            }, tabbedPanel);
         } catch (NumberFormatException e) {
             showErrorMessage("Invalid deposit amount");
         }
@@ -345,18 +537,7 @@ private void handleAccountOperations() {
         showErrorMessage("Customer not found");
         return;
     }
-    TransactionUI transactionUI = new TransactionUI(this, transactionService, account, customer);
-    transactionUI.addWindowListener(new java.awt.event.WindowAdapter() {
-        @Override
-        public void windowClosed(java.awt.event.WindowEvent windowEvent) {
-            SwingUtilities.invokeLater(() -> {
-                loadCustomers();
-                loadAccounts();
-                refreshCustomerTable();
-                refreshAccountTable();
-            });
-        }
-    });
+    new TransactionUI(this, transactionService, account, customer);
 }
 
 private void handleRemoveAccount() {
@@ -365,39 +546,50 @@ private void handleRemoveAccount() {
         showErrorMessage("Please select an account to remove");
         return;
     }
-    String accountId = accountTable.getValueAt(selectedRow, 0).toString();
-    Account account = controller.findAccountById(accountId);
-    if (account == null) {
+    AccountView account = accountTableModel.getRow(selectedRow);
+    String accountId = account.getId();
+    if (controller.findAccountById(accountId) == null) {
         showErrorMessage("Account not found");
         return;
     }
+    long accountVersion = account.getVersion();
     int confirm = showConfirmDialog("Are you sure you want to remove this account?");
     if (confirm == JOptionPane.YES_OPTION) {
-        if (controller.removeAccount(accountId)) {
-            showInfoMessage("Account removed successfully");
-            try {
-                
-                loadCustomers();
-                loadAccounts();
-            } catch (Exception e) {
-                System.err.println("Error handling account removal: " + e.getMessage());
-                e.printStackTrace();
-            }
-        } else {
-            showErrorMessage("Failed to remove account");
-        }
+        taskRunner.submit("Removing account...", () -> controller.removeAccount(accountId, accountVersion),
+                removed -> {
+                    if (removed) {
+                        showInfoMessage("Account removed successfully");
+                    } else {
+                        showErrorMessage("Failed to remove account");
+                    }
+                },
+                e -> {
+                    if (e instanceof VersionConflictException) {
+                        showErrorMessage("This account changed while you were confirming. Please review it and try again.");
+                        loadAccounts();
+                    } else {
+                        showErrorMessage("Failed to remove account: " + e.getMessage());
+                    }
+                },
+                tabbedPanel);
     }
 }
 
 private void handleLogout() {
+    if (transactionService != null) {
+        transactionService.getEventBus().unsubscribe(refreshScheduler);
+    }
+    refreshScheduler.stop();
+    if (metricsSampler != null) {
+        metricsSampler.stop();
+    }
     dispose();
 }
 
 
 
 private void refreshCustomerTable() {
-    JTabbedPane tabbedPane = (JTabbedPane) mainPanel.getComponent(1);
-    JPanel customerPanel = (JPanel) tabbedPane.getComponentAt(0); 
+    JPanel customerPanel = (JPanel) tabbedPanel.getComponentAt(0); 
     
     SwingUtilities.invokeLater(() -> {
         customerPanel.revalidate();
@@ -406,8 +598,7 @@ private void refreshCustomerTable() {
 }
 
 private void refreshAccountTable() {
-    JTabbedPane tabbedPane = (JTabbedPane) mainPanel.getComponent(1);
-    JPanel accountPanel = (JPanel) tabbedPane.getComponentAt(1);
+    JPanel accountPanel = (JPanel) tabbedPanel.getComponentAt(1);
     
     SwingUtilities.invokeLater(() -> {
         accountPanel.revalidate();
@@ -0,0 +1,52 @@
+package ui;
+
+import java.util.List;
+
+public final class MetricsSample {
+    private final List<Object[]> operationRows;
+    private final List<Object[]> storageRows;
+    private final long heapUsedBytes;
+    private final long heapMaxBytes;
+    private final int customerCount;
+    private final int accountCount;
+    private final int transactionCount;
+
+    MetricsSample(List<Object[]> operationRows, List<Object[]> storageRows, long heapUsedBytes, long heapMaxBytes,
+                  int customerCount, int accountCount, int transactionCount) {
+        this.operationRows = operationRows;
+        this.storageRows = storageRows;
+        this.heapUsedBytes = heapUsedBytes;
+        this.heapMaxBytes = heapMaxBytes;
+        this.customerCount = customerCount;
+        this.accountCount = accountCount;
+        this.transactionCount = transactionCount;
+    }
+
+    public List<Object[]> getOperationRows() {
+        return operationRows;
+    }
+
+    public List<Object[]> getStorageRows() {
+        return storageRows;
+    }
+
+    public long getHeapUsedBytes() {
+        return heapUsedBytes;
+    }
+
+    public long getHeapMaxBytes() {
+        return heapMaxBytes;
+    }
+
+    public int getCustomerCount() {
+        return customerCount;
+    }
+
+    public int getAccountCount() {
+        return accountCount;
+    }
+
+    public int getTransactionCount() {
+        return transactionCount;
+    }
+}
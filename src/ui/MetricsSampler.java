@@ -0,0 +1,121 @@
+package ui;
+
+import services.HistogramSnapshot;
+import services.LedgerSnapshot;
+import services.MetricsRegistry;
+import services.MetricsSnapshot;
+import services.TransactionService;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class MetricsSampler {
+    public static final int DEFAULT_INTERVAL_SECONDS = 2;
+    private static final String SERVICE_PREFIX = "service.";
+    private static final String LOAD_PREFIX = "storage.load.";
+    private static final String SAVE_PREFIX = "storage.save.";
+
+    private final TransactionService transactionService;
+    private final Consumer<MetricsSample> onSample;
+    private final int intervalSeconds;
+    private ScheduledExecutorService executor;
+    private MetricsSnapshot previous;
+
+    public MetricsSampler(TransactionService transactionService, Consumer<MetricsSample> onSample) {
+        this(transactionService, Integer.getInteger("metrics.ui.interval", DEFAULT_INTERVAL_SECONDS), onSample);
+    }
+
+    public MetricsSampler(TransactionService transactionService, int intervalSeconds, Consumer<MetricsSample> onSample) {
+        this.transactionService = transactionService;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+        this.onSample = onSample;
+    }
+
+    public synchronized void start() {
+        if (executor != null) return;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::tick, 0, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stop() {
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    private void tick() {
+        try {
+            MetricsSample sample = sample();
+            SwingUtilities.invokeLater(() -> onSample.accept(sample));
+        } catch (RuntimeException e) {
+            System.err.println("Error sampling metrics: " + e.getMessage());
+        }
+    }
+
+    private MetricsSample sample() {
+        MetricsSnapshot current = MetricsRegistry.global().snapshot();
+        double elapsedSeconds = previous == null ? 0
+                : Math.max(1, current.getTimestamp() - previous.getTimestamp()) / 1000.0;
+
+        List<Object[]> operationRows = new ArrayList<>();
+        TreeSet<String> files = new TreeSet<>();
+        for (Map.Entry<String, HistogramSnapshot> entry : new TreeMap<>(current.getHistograms()).entrySet()) {
+            String name = entry.getKey();
+            if (name.startsWith(LOAD_PREFIX)) {
+                files.add(name.substring(LOAD_PREFIX.length()));
+            } else if (name.startsWith(SAVE_PREFIX)) {
+                files.add(name.substring(SAVE_PREFIX.length()));
+            } else if (name.startsWith(SERVICE_PREFIX)) {
+                HistogramSnapshot histogram = entry.getValue();
+                HistogramSnapshot interval = histogram.since(previous == null ? null : previous.getHistogram(name));
+                operationRows.add(new Object[]{
+                        name.substring(SERVICE_PREFIX.length()),
+                        elapsedSeconds == 0 ? "-" : String.format("%.1f", interval.getCount() / elapsedSeconds),
+                        interval.getCount() == 0 ? "-" : millis(interval.getP99Nanos()),
+                        interval.getCount() == 0 ? "-" : millis(interval.getMeanNanos()),
+                        histogram.getCount(),
+                        current.getCounter(name + ".rejected")
+                });
+            }
+        }
+
+        List<Object[]> storageRows = new ArrayList<>();
+        for (String file : files) {
+            HistogramSnapshot load = current.getHistogram(LOAD_PREFIX + file);
+            HistogramSnapshot save = current.getHistogram(SAVE_PREFIX + file);
+            HistogramSnapshot recentSaves = save == null ? null
+                    : save.since(previous == null ? null : previous.getHistogram(SAVE_PREFIX + file));
+            storageRows.add(new Object[]{
+                    file,
+                    String.format("%,.1f", current.getGauge("storage." + file + ".bytes") / 1024.0),
+                    save == null || save.getCount() == 0 ? "-" : millis(current.getGauge(SAVE_PREFIX + file + ".last")),
+                    recentSaves == null || recentSaves.getCount() == 0 ? "-" : millis(recentSaves.getP99Nanos()),
+                    save == null ? 0L : save.getCount(),
+                    load == null || load.getCount() == 0 ? "-" : millis(load.getMaxNanos())
+            });
+        }
+        previous = current;
+
+        Runtime runtime = Runtime.getRuntime();
+        LedgerSnapshot ledger = transactionService.snapshot();
+        return new MetricsSample(operationRows, storageRows, runtime.totalMemory() - runtime.freeMemory(),
+                runtime.maxMemory(), ledger.getCustomerCount(), ledger.getAccountCount(),
+                transactionService.getTransactionCount());
+    }
+
+    private static String millis(double nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+}
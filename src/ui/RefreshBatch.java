@@ -0,0 +1,119 @@
+package ui;
+
+import model.AccountView;
+import model.Transaction;
+import services.LedgerEvent;
+import services.LedgerSnapshot;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class RefreshBatch {
+    private LedgerSnapshot latestSnapshot;
+    private final BitSet customerRows = new BitSet();
+    private final BitSet accountRows = new BitSet();
+    private final Map<String, Integer> balanceRows = new HashMap<>();
+    private final Set<String> postedAccountIds = new HashSet<>();
+    private final Set<String> removedAccountIds = new HashSet<>();
+    private final List<String> velocityAlerts = new ArrayList<>();
+    private boolean customersRemoved;
+    private int eventCount;
+
+    void add(LedgerEvent event) {
+        eventCount++;
+        LedgerSnapshot snapshot = event.getSnapshot();
+        if (latestSnapshot == null || snapshot.getVersion() >= latestSnapshot.getVersion()) {
+            latestSnapshot = snapshot;
+        }
+        int index = event.getSnapshotIndex();
+        switch (event.getType()) {
+            case CUSTOMER_ADDED, CUSTOMER_UPDATED -> markRow(customerRows, index);
+            case CUSTOMER_REMOVED -> customersRemoved = true;
+            case ACCOUNT_ADDED -> markRow(accountRows, index);
+            case ACCOUNT_REMOVED -> removedAccountIds.add(event.getEntityId());
+            case BALANCE_CHANGED -> {
+                markRow(accountRows, index);
+                balanceRows.put(event.getEntityId(), index);
+            }
+            case TRANSACTION_POSTED -> {
+                Transaction transaction = event.getTransaction();
+                if (transaction.getSendingAccountId() != null) {
+                    postedAccountIds.add(transaction.getSendingAccountId());
+                }
+                if (transaction.getReceivingAccountId() != null) {
+                    postedAccountIds.add(transaction.getReceivingAccountId());
+                }
+            }
+            case VELOCITY_LIMIT_HIT -> velocityAlerts.add(event.getDetail());
+        }
+    }
+
+    private void markRow(BitSet rows, int index) {
+        if (index >= 0) {
+            rows.set(index);
+        }
+    }
+
+    public LedgerSnapshot getLatestSnapshot() {
+        return latestSnapshot;
+    }
+
+    public BitSet getCustomerRows() {
+        return customerRows;
+    }
+
+    public BitSet getAccountRows() {
+        return accountRows;
+    }
+
+    public boolean hasRemovedCustomers() {
+        return customersRemoved;
+    }
+
+    public boolean hasRemovedAccounts() {
+        return !removedAccountIds.isEmpty();
+    }
+
+    public Set<String> getRemovedAccountIds() {
+        return removedAccountIds;
+    }
+
+    public boolean isAccountRemoved(String accountId) {
+        return removedAccountIds.contains(accountId);
+    }
+
+    public boolean hasPostings(String accountId) {
+        return postedAccountIds.contains(accountId);
+    }
+
+    public boolean hasBalanceChange(String accountId) {
+        return balanceRows.containsKey(accountId);
+    }
+
+    public AccountView findAccount(String accountId) {
+        List<AccountView> accounts = latestSnapshot.getAccounts();
+        Integer index = balanceRows.get(accountId);
+        if (index != null && index < accounts.size() && accounts.get(index).getId().equals(accountId)) {
+            return accounts.get(index);
+        }
+        for (AccountView account : accounts) {
+            if (account.getId().equals(accountId)) {
+                return account;
+            }
+        }
+        return null;
+    }
+
+    public List<String> getVelocityAlerts() {
+        return velocityAlerts;
+    }
+
+    public int getEventCount() {
+        return eventCount;
+    }
+}
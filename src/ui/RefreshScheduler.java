@@ -0,0 +1,67 @@
+package ui;
+
+import interfaces.ILedgerListener;
+import services.LedgerEvent;
+import services.OperationTrace;
+
+import javax.swing.*;
+import java.util.function.Consumer;
+
+public class RefreshScheduler implements ILedgerListener {
+    public static final int DEFAULT_INTERVAL_MILLIS = 50;
+
+    private final Consumer<RefreshBatch> onFlush;
+    private final Timer timer;
+    private RefreshBatch pending;
+    private boolean stopped;
+
+    public RefreshScheduler(Consumer<RefreshBatch> onFlush) {
+        this(DEFAULT_INTERVAL_MILLIS, onFlush);
+    }
+
+    public RefreshScheduler(int intervalMillis, Consumer<RefreshBatch> onFlush) {
+        this.onFlush = onFlush;
+        timer = new Timer(intervalMillis, e -> flush());
+        timer.setRepeats(false);
+    }
+
+    @Override
+    public void onLedgerEvent(LedgerEvent event) {
+        boolean schedule;
+        synchronized (this) {
+            if (stopped) return;
+            schedule = pending == null;
+            if (schedule) {
+                pending = new RefreshBatch();
+            }
+            pending.add(event);
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(timer::restart);
+        }
+    }
+
+    private void flush() {
+        RefreshBatch batch;
+        synchronized (this) {
+            batch = pending;
+            pending = null;
+        }
+        if (batch == null) return;
+        OperationTrace trace = OperationTrace.begin("ui.refresh");
+        try {
+            onFlush.accept(batch);
+            trace.mark(OperationTrace.Phase.UI_REFRESH);
+        } finally {
+            trace.end(true);
+        }
+    }
+
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+            pending = null;
+        }
+        timer.stop();
+    }
+}
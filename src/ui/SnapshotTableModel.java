@@ -0,0 +1,174 @@
+package ui;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+public abstract class SnapshotTableModel<T> extends AbstractTableModel {
+    private final String[] columnNames;
+    private List<T> rows = List.of();
+    private int[] viewIndex;
+    private int sortColumn = -1;
+    private boolean ascending = true;
+    private String filter = "";
+
+    protected SnapshotTableModel(String... columnNames) {
+        this.columnNames = columnNames;
+    }
+
+    protected abstract Object columnValue(T row, int column);
+
+    protected abstract boolean matchesFilter(T row, String filter);
+
+    public void setRows(List<T> rows) {
+        this.rows = rows;
+        rebuildView();
+        fireTableDataChanged();
+    }
+
+    public void applyChanges(List<T> rows, BitSet changedRows) {
+        int previousSize = this.rows.size();
+        this.rows = rows;
+        if (viewIndex != null || rows.size() < previousSize) {
+            rebuildView();
+            fireTableDataChanged();
+            return;
+        }
+        int first = changedRows.nextSetBit(0);
+        while (first >= 0 && first < previousSize) {
+            int last = Math.min(changedRows.nextClearBit(first), previousSize) - 1;
+            fireTableRowsUpdated(first, last);
+            first = changedRows.nextSetBit(last + 1);
+        }
+        if (rows.size() > previousSize) {
+            fireTableRowsInserted(previousSize, rows.size() - 1);
+        }
+    }
+
+    public void refreshRows(List<T> rows) {
+        boolean sameSize = rows.size() == this.rows.size();
+        this.rows = rows;
+        if (viewIndex != null || !sameSize) {
+            rebuildView();
+            fireTableDataChanged();
+        } else if (!rows.isEmpty()) {
+            fireTableRowsUpdated(0, rows.size() - 1);
+        }
+    }
+
+    public T getSnapshotRow(int index) {
+        return rows.get(index);
+    }
+
+    public T getRow(int rowIndex) {
+        return rows.get(viewIndex == null ? rowIndex : viewIndex[rowIndex]);
+    }
+
+    public int getTotalRowCount() {
+        return rows.size();
+    }
+
+    public void sortBy(int column) {
+        if (column == sortColumn) {
+            ascending = !ascending;
+        } else {
+            sortColumn = column;
+            ascending = true;
+        }
+        rebuildView();
+        fireTableDataChanged();
+    }
+
+    public int getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public void setFilter(String filter) {
+        String normalized = filter == null ? "" : filter.trim().toLowerCase();
+        if (normalized.equals(this.filter)) return;
+        this.filter = normalized;
+        rebuildView();
+        fireTableDataChanged();
+    }
+
+    @Override
+    public int getRowCount() {
+        return viewIndex == null ? rows.size() : viewIndex.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return columnValue(getRow(rowIndex), columnIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+
+    private void rebuildView() {
+        if (filter.isEmpty() && sortColumn < 0) {
+            viewIndex = null;
+            return;
+        }
+
+        int[] index = new int[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (filter.isEmpty() || matchesFilter(rows.get(i), filter)) {
+                index[count++] = i;
+            }
+        }
+        if (sortColumn >= 0 && count > 1) {
+            int[] buffer = new int[count];
+            mergeSort(index, buffer, 0, count);
+        }
+        viewIndex = count == index.length ? index : Arrays.copyOf(index, count);
+    }
+
+    private void mergeSort(int[] index, int[] buffer, int from, int to) {
+        if (to - from < 2) return;
+        int middle = (from + to) >>> 1;
+        mergeSort(index, buffer, from, middle);
+        mergeSort(index, buffer, middle, to);
+        if (compareRows(index[middle - 1], index[middle]) <= 0) return;
+
+        System.arraycopy(index, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && compareRows(buffer[left], buffer[right]) <= 0)) {
+                index[i] = buffer[left++];
+            } else {
+                index[i] = buffer[right++];
+            }
+        }
+    }
+
+    private int compareRows(int first, int second) {
+        Object a = columnValue(rows.get(first), sortColumn);
+        Object b = columnValue(rows.get(second), sortColumn);
+        int result;
+        if (a instanceof Number && b instanceof Number) {
+            result = Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        } else {
+            result = String.valueOf(a).compareToIgnoreCase(String.valueOf(b));
+        }
+        return ascending ? result : -result;
+    }
+}
@@ -0,0 +1,102 @@
+package ui;
+
+import model.Transaction;
+import services.TransactionCursor;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public class TransactionHistoryTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = {"ID", "Type", "Amount", "Date", "From/To"};
+
+    private final List<Object[]> rows = new ArrayList<>();
+    private final List<Transaction> transactions = new ArrayList<>();
+    private TransactionCursor nextCursor;
+    private boolean hasMore = true;
+
+    public void reset() {
+        rows.clear();
+        transactions.clear();
+        nextCursor = null;
+        hasMore = true;
+        fireTableDataChanged();
+    }
+
+    public void appendPage(List<Transaction> pageTransactions, List<Object[]> pageRows, TransactionCursor nextCursor,
+                           boolean hasMore) {
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        if (pageRows.isEmpty()) return;
+        int firstRow = rows.size();
+        rows.addAll(pageRows);
+        transactions.addAll(pageTransactions);
+        fireTableRowsInserted(firstRow, rows.size() - 1);
+    }
+
+    public List<Integer> findRowsReferencing(Set<String> accountIds) {
+        List<Integer> matches = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            if (references(accountIds, transaction.getSendingAccountId())
+                    || references(accountIds, transaction.getReceivingAccountId())) {
+                matches.add(i);
+            }
+        }
+        return matches;
+    }
+
+    private static boolean references(Set<String> accountIds, String accountId) {
+        return accountId != null && accountIds.contains(accountId);
+    }
+
+    public Transaction getTransaction(int rowIndex) {
+        return transactions.get(rowIndex);
+    }
+
+    public void updateRows(List<Integer> rowIndexes, List<Object[]> newRows) {
+        if (rowIndexes.isEmpty()) return;
+        for (int i = 0; i < rowIndexes.size(); i++) {
+            rows.set(rowIndexes.get(i), newRows.get(i));
+        }
+        fireTableRowsUpdated(rowIndexes.get(0), rowIndexes.get(rowIndexes.size() - 1));
+    }
+
+    public void markMoreAvailable() {
+        hasMore = true;
+    }
+
+    public TransactionCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return rows.get(rowIndex)[columnIndex];
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return false;
+    }
+}
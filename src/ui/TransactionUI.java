@@ -3,21 +3,32 @@ package ui;
 import controllers.TransactionController;
 import model.Account;
 import model.Customer;
+import model.AccountView;
 import model.Transaction;
+import services.TransactionCursor;
+import services.TransactionPage;
 import services.TransactionService;
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class TransactionUI extends BaseFrame {
+    private static final int PAGE_SIZE = 200;
+    private static final int PREFETCH_ROWS = 50;
     private final TransactionService transactionService;
     private TransactionController controller;
     private final JTable transactionTable;
-    private final DefaultTableModel transactionTableModel;
+    private final TransactionHistoryTableModel transactionTableModel;
     private final JLabel balanceLabel;
     private final JLabel accountInfoLabel;
+    private final UITaskRunner taskRunner = new UITaskRunner(this::showErrorMessage);
+    private JPanel actionButtonPanel;
+    private SwingWorker<LoadedPage, Void> pageLoader;
+    private int historyGeneration;
+    private boolean tailPending;
+    private final RefreshScheduler refreshScheduler = new RefreshScheduler(this::applyRefresh);
 
     public TransactionUI(JFrame parent, TransactionService transactionService, Account account, Customer customer) {
         super("Account Management - " + account.getName());
@@ -25,21 +36,14 @@ public class TransactionUI extends BaseFrame {
 
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
-        transactionTableModel = new DefaultTableModel(
-                new Object[]{"ID", "Type", "Amount", "Date", "From/To"}, 0
-        ) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        transactionTableModel = new TransactionHistoryTableModel();
         transactionTable = new JTable(transactionTableModel);
         balanceLabel = createLabel("Balance: $" + account.getBalance(), 14, Font.BOLD);
         accountInfoLabel = createLabel("", 12, Font.PLAIN);
         initializeController(account.getId());
         setupUI();
+        transactionService.getEventBus().subscribe(refreshScheduler);
         loadTransactions();
-        updateAccountInfo();
         setLocationRelativeTo(parent);
         setVisible(true);
     }
@@ -56,8 +60,21 @@ public class TransactionUI extends BaseFrame {
         JPanel headerPanel = createHeaderPanel();
         mainPanel.add(headerPanel, BorderLayout.NORTH);
         mainPanel.add(createTablePanel(transactionTableModel, transactionTable), BorderLayout.CENTER);
-        JPanel buttonPanel = createActionButtonPanel();
-        mainPanel.add(buttonPanel, BorderLayout.SOUTH);
+        transactionTable.setAutoCreateRowSorter(false);
+        transactionTable.setRowSorter(null);
+        JScrollPane scrollPane = (JScrollPane) SwingUtilities.getAncestorOfClass(JScrollPane.class, transactionTable);
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            BoundedRangeModel range = scrollPane.getVerticalScrollBar().getModel();
+            int prefetchPixels = transactionTable.getRowHeight() * PREFETCH_ROWS;
+            if (range.getValue() + range.getExtent() >= range.getMaximum() - prefetchPixels) {
+                loadNextPage();
+            }
+        });
+        actionButtonPanel = createActionButtonPanel();
+        JPanel southPanel = new JPanel(new BorderLayout());
+        southPanel.add(actionButtonPanel, BorderLayout.CENTER);
+        southPanel.add(taskRunner.getStatusPanel(), BorderLayout.SOUTH);
+        mainPanel.add(southPanel, BorderLayout.SOUTH);
         add(mainPanel);
     }
 
@@ -80,19 +97,100 @@ public class TransactionUI extends BaseFrame {
     }
 
     private void loadTransactions() {
-        transactionTableModel.setRowCount(0);
-        List<Transaction> transactions = controller.getTransactions();
-        System.out.println("Loading transactions..." + transactions.size());
-        for (Transaction transaction : transactions) {
-            Object[] rowData = controller.formatTransactionForDisplay(transaction);
-            transactionTableModel.addRow(rowData);
+        if (pageLoader != null) {
+            pageLoader.cancel(true);
+            pageLoader = null;
         }
+        historyGeneration++;
+        tailPending = false;
+        transactionTableModel.reset();
+        loadNextPage();
         updateAccountInfo();
     }
 
+    private void loadNextPage() {
+        if (!transactionTableModel.hasMore() || (pageLoader != null && !pageLoader.isDone())) {
+            return;
+        }
+        TransactionCursor cursor = transactionTableModel.getNextCursor();
+        int generation = historyGeneration;
+        pageLoader = taskRunner.submitLoad("Loading transactions...", () -> {
+            TransactionPage page = controller.getTransactionsPage(cursor, PAGE_SIZE);
+            List<Object[]> rows = new ArrayList<>(page.getTransactions().size());
+            for (Transaction transaction : page.getTransactions()) {
+                rows.add(controller.formatTransactionForDisplay(transaction));
+            }
+            return new LoadedPage(page.getTransactions(), rows, page.getNextCursor(), page.hasMore());
+        }, page -> {
+            if (generation != historyGeneration) return;
+            transactionTableModel.appendPage(page.transactions, page.rows, page.nextCursor, page.hasMore);
+            if (tailPending) {
+                tailPending = false;
+                transactionTableModel.markMoreAvailable();
+            }
+            SwingUtilities.invokeLater(this::fillViewport);
+        });
+    }
+
+    private void applyRefresh(RefreshBatch batch) {
+        if (!isDisplayable()) return;
+        String accountId = controller.getCurrentAccountId();
+        for (String removedAccountId : batch.getRemovedAccountIds()) {
+            controller.invalidateAccount(removedAccountId);
+        }
+        if (batch.hasRemovedAccounts()) {
+            reprojectRows(batch.getRemovedAccountIds());
+        }
+        if (batch.hasPostings(accountId)) {
+            if (pageLoader != null && !pageLoader.isDone()) {
+                tailPending = true;
+            } else if (!transactionTableModel.hasMore()) {
+                transactionTableModel.markMoreAvailable();
+                loadNextPage();
+            }
+        }
+        if (batch.isAccountRemoved(accountId)) {
+            balanceLabel.setText("Balance: N/A");
+        } else if (batch.hasBalanceChange(accountId)) {
+            AccountView account = batch.findAccount(accountId);
+            balanceLabel.setText(account != null ? "Balance: $" + account.getBalance() : "Balance: N/A");
+        }
+    }
+
+    private void reprojectRows(Set<String> accountIds) {
+        List<Integer> rowIndexes = transactionTableModel.findRowsReferencing(accountIds);
+        if (rowIndexes.isEmpty()) return;
+        List<Transaction> transactions = new ArrayList<>(rowIndexes.size());
+        for (int rowIndex : rowIndexes) {
+            transactions.add(transactionTableModel.getTransaction(rowIndex));
+        }
+        int generation = historyGeneration;
+        taskRunner.submitLoad("Refreshing transactions...", () -> {
+            List<Object[]> rows = new ArrayList<>(transactions.size());
+            for (Transaction transaction : transactions) {
+                rows.add(controller.formatTransactionForDisplay(transaction));
+            }
+            return rows;
+        }, rows -> {
+            if (generation != historyGeneration) return;
+            transactionTableModel.updateRows(rowIndexes, rows);
+        });
+    }
+
+    private void fillViewport() {
+        JViewport viewport = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, transactionTable);
+        if (viewport != null && transactionTable.getPreferredSize().height <= viewport.getHeight()) {
+            loadNextPage();
+        }
+    }
+
     private void updateAccountInfo() {
-        accountInfoLabel.setText(controller.getAccountDisplayInfo());
-        balanceLabel.setText(controller.getBalanceDisplayText());
+        taskRunner.submitLoad("Refreshing balance...",
+                () -> new String[]{controller.getAccountDisplayInfo(), controller.getBalanceDisplayText()},
+                info -> {
+                    accountInfoLabel.setText(info[0]);
+                    balanceLabel.setText(info[1]);
+                });
     }
 
     private void handleDeposit() {
@@ -106,12 +204,13 @@ public class TransactionUI extends BaseFrame {
         }
         try {
             double amount = controller.parseAmount(input);
-            if (controller.deposit(amount)) {
-                showInfoMessage("Deposit successful");
-                loadTransactions();
-            } else {
-                showErrorMessage("Failed to process deposit");
-            }
+            taskRunner.submit("Processing deposit...", () -> controller.deposit(amount), deposited -> {
+                if (deposited) {
+                    showInfoMessage("Deposit successful");
+                } else {
+                    showErrorMessage("Failed to process deposit");
+                }
+            }, actionButtonPanel);
         } catch (NumberFormatException e) {
             showErrorMessage("Please enter a valid number");
         }
@@ -128,12 +227,13 @@ public class TransactionUI extends BaseFrame {
         try {
             double amount = controller.parseAmount(input);
 
-            if (controller.withdraw(amount)) {
-                showInfoMessage("Withdrawal successful");
-                loadTransactions();
-            } else {
-                showErrorMessage("Failed to process withdrawal. Check your balance.");
-            }
+            taskRunner.submit("Processing withdrawal...", () -> controller.withdraw(amount), withdrawn -> {
+                if (withdrawn) {
+                    showInfoMessage("Withdrawal successful");
+                } else {
+                    showErrorMessage("Failed to process withdrawal. Check your balance.");
+                }
+            }, actionButtonPanel);
         } catch (NumberFormatException e) {
             showErrorMessage("Please enter a valid number");
         }
@@ -239,12 +339,13 @@ public class TransactionUI extends BaseFrame {
             try {
                 double amount = controller.parseAmount(amountStr);
                 String targetAccountId = selectedAccount.getId();
-                if (controller.transfer(targetAccountId, amount)) {
-                    showInfoMessage("Transfer successful");
-                    loadTransactions();
-                } else {
-                    showErrorMessage("Transfer failed. Check details and balance.");
-                }
+                taskRunner.submit("Processing transfer...", () -> controller.transfer(targetAccountId, amount), transferred -> {
+                    if (transferred) {
+                        showInfoMessage("Transfer successful");
+                    } else {
+                        showErrorMessage("Transfer failed. Check details and balance.");
+                    }
+                }, actionButtonPanel);
             } catch (NumberFormatException e) {
                 showErrorMessage("Please enter valid numeric values");
                 e.printStackTrace();
@@ -259,6 +360,13 @@ public class TransactionUI extends BaseFrame {
         dispose();
     }
 
+    @Override
+    public void dispose() {
+        transactionService.getEventBus().unsubscribe(refreshScheduler);
+        refreshScheduler.stop();
+        super.dispose();
+    }
+
     public void refreshTransactionData() {
         loadTransactions();
     }
@@ -270,11 +378,26 @@ public class TransactionUI extends BaseFrame {
         return transactionTable;
     }
 
-    public DefaultTableModel getTransactionTableModel() {
+    public TransactionHistoryTableModel getTransactionTableModel() {
         return transactionTableModel;
     }
 
     public JLabel getBalanceLabel() {
         return balanceLabel;
     }
+
+    private static final class LoadedPage {
+        private final List<Transaction> transactions;
+        private final List<Object[]> rows;
+        private final TransactionCursor nextCursor;
+        private final boolean hasMore;
+
+        private LoadedPage(List<Transaction> transactions, List<Object[]> rows, TransactionCursor nextCursor,
+                           boolean hasMore) {
+            this.transactions = transactions;
+            this.rows = rows;
+            this.nextCursor = nextCursor;
+            this.hasMore = hasMore;
+        }
+    }
 }
\ No newline at end of file
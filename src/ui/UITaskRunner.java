@@ -0,0 +1,189 @@
+package ui;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+public class UITaskRunner {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ui-task");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Consumer<String> errorReporter;
+    private final JPanel statusPanel;
+    private final JLabel statusLabel;
+    private final JProgressBar progressBar;
+    private final JButton cancelButton;
+    private final Set<SwingWorker<?, ?>> activeTasks = new LinkedHashSet<>();
+    private final Set<SwingWorker<?, ?>> interruptibleTasks = new HashSet<>();
+    private final Set<SwingWorker<?, ?>> requiredTasks = new HashSet<>();
+    private final Map<Component, Integer> busyCounts = new IdentityHashMap<>();
+
+    public UITaskRunner(Consumer<String> errorReporter) {
+        this.errorReporter = errorReporter;
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        progressBar = new JProgressBar();
+        progressBar.setIndeterminate(true);
+        progressBar.setVisible(false);
+        cancelButton = new JButton("Cancel");
+        cancelButton.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        cancelButton.setVisible(false);
+        cancelButton.addActionListener(e -> cancelAll());
+
+        statusPanel = new JPanel(new BorderLayout(10, 0));
+        statusPanel.setBorder(new EmptyBorder(4, 10, 4, 10));
+        statusPanel.add(statusLabel, BorderLayout.CENTER);
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        progressPanel.setOpaque(false);
+        progressPanel.add(progressBar);
+        progressPanel.add(cancelButton);
+        statusPanel.add(progressPanel, BorderLayout.EAST);
+    }
+
+    public JPanel getStatusPanel() {
+        return statusPanel;
+    }
+
+    public boolean isBusy() {
+        return !activeTasks.isEmpty();
+    }
+
+    public <T> SwingWorker<T, Void> submit(String description, Callable<T> task, Consumer<T> onSuccess,
+                                           Component... busyComponents) {
+        return submit(description, task, onSuccess, null, busyComponents);
+    }
+
+    public <T> SwingWorker<T, Void> submit(String description, Callable<T> task, Consumer<T> onSuccess,
+                                           Consumer<Exception> onFailure, Component... busyComponents) {
+        return execute(description, task, onSuccess, onFailure, CancelMode.IF_PENDING, busyComponents);
+    }
+
+    public <T> SwingWorker<T, Void> submitLoad(String description, Callable<T> task, Consumer<T> onSuccess,
+                                               Component... busyComponents) {
+        return execute(description, task, onSuccess, null, CancelMode.INTERRUPT, busyComponents);
+    }
+
+    public <T> SwingWorker<T, Void> submitRequired(String description, Callable<T> task, Consumer<T> onSuccess,
+                                                   Consumer<Exception> onFailure, Component... busyComponents) {
+        return execute(description, task, onSuccess, onFailure, CancelMode.NEVER, busyComponents);
+    }
+
+    private <T> SwingWorker<T, Void> execute(String description, Callable<T> task, Consumer<T> onSuccess,
+                                             Consumer<Exception> onFailure, CancelMode cancelMode,
+                                             Component... busyComponents) {
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return task.call();
+            }
+
+            @Override
+            protected void done() {
+                finishTask(this, busyComponents);
+                try {
+                    T result = get();
+                    statusLabel.setText(" ");
+                    if (onSuccess != null) {
+                        onSuccess.accept(result);
+                    }
+                } catch (CancellationException e) {
+                    statusLabel.setText(description + " cancelled");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Exception cause = e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                    statusLabel.setText(" ");
+                    if (onFailure != null) {
+                        onFailure.accept(cause);
+                    } else {
+                        System.err.println(description + " failed: " + cause.getMessage());
+                        errorReporter.accept("Operation failed: " + cause.getMessage());
+                    }
+                }
+            }
+        };
+
+        activeTasks.add(worker);
+        if (cancelMode == CancelMode.INTERRUPT) {
+            interruptibleTasks.add(worker);
+        } else if (cancelMode == CancelMode.NEVER) {
+            requiredTasks.add(worker);
+        }
+        for (Component component : busyComponents) {
+            if (busyCounts.merge(component, 1, Integer::sum) == 1) {
+                setButtonsEnabled(component, false);
+            }
+        }
+        statusLabel.setText(description);
+        progressBar.setVisible(true);
+        cancelButton.setVisible(true);
+        EXECUTOR.execute(worker);
+        return worker;
+    }
+
+    public void cancelAll() {
+        boolean runningMutation = false;
+        for (SwingWorker<?, ?> worker : List.copyOf(activeTasks)) {
+            if (requiredTasks.contains(worker)) continue;
+            if (worker.getState() == SwingWorker.StateValue.PENDING || interruptibleTasks.contains(worker)) {
+                worker.cancel(true);
+            } else {
+                runningMutation = true;
+            }
+        }
+        if (runningMutation) {
+            statusLabel.setText("Finishing a change that has already started...");
+        }
+    }
+
+    private void finishTask(SwingWorker<?, ?> worker, Component[] busyComponents) {
+        activeTasks.remove(worker);
+        interruptibleTasks.remove(worker);
+        requiredTasks.remove(worker);
+        for (Component component : busyComponents) {
+            Integer count = busyCounts.get(component);
+            if (count == null) continue;
+            if (count <= 1) {
+                busyCounts.remove(component);
+                setButtonsEnabled(component, true);
+            } else {
+                busyCounts.put(component, count - 1);
+            }
+        }
+        if (activeTasks.isEmpty()) {
+            progressBar.setVisible(false);
+            cancelButton.setVisible(false);
+        }
+    }
+
+    private void setButtonsEnabled(Component component, boolean enabled) {
+        if (component instanceof AbstractButton) {
+            component.setEnabled(enabled);
+        } else if (component instanceof JPanel || component instanceof JTabbedPane) {
+            for (Component child : ((Container) component).getComponents()) {
+                setButtonsEnabled(child, enabled);
+            }
+        }
+    }
+
+    private enum CancelMode {
+        INTERRUPT,
+        IF_PENDING,
+        NEVER
+    }
+}